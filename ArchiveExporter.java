@@ -0,0 +1,166 @@
+/**
+ * ArchiveExporter streams the finished games of a Mancala model into a
+ * GameArchive.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * The ArchiveExporter class subscribes to a {@link MancalaModel} and builds
+ * the columns of the current game as its moves are applied: the pit and
+ * free turn of each move, where it captured and how much, and the pit
+ * counts after it. An undo drops the last move, so the archive holds the
+ * game as it was finally played. When the game ends, it is added to the
+ * {@link GameArchive}. If the model keeps a timeline, whose jumps can bring
+ * back moves of other branches, the columns are instead rebuilt from the
+ * moves of its current line when the game ends, which includes reaching
+ * the last position by a jump. Only games started while the exporter is subscribed
+ * are exported; a game restarted before it ends is dropped.
+ */
+public class ArchiveExporter implements MancalaListener {
+
+    private final GameArchive archive;
+    private final MancalaModel model;
+    private byte[] moves = new byte[128];
+    private short[] captures = new short[128];
+    private byte[] pits = new byte[128 * BoardState.PIT_COUNT];
+    private int plies;
+    private boolean recording;
+
+    /**
+     * Constructs an exporter for a model. Add it to the model before
+     * {@link MancalaModel#initialize()}.
+     *
+     * @param archive the archive to add finished games to
+     * @param model   the game to export
+     */
+    public ArchiveExporter(GameArchive archive, MancalaModel model) {
+        this.archive = archive;
+        this.model = model;
+    }
+
+    /**
+     * Starts a new game.
+     */
+    @Override
+    public void boardReset() {
+        plies = 0;
+        recording = true;
+    }
+
+    /**
+     * Adds a move and the board after it to the current game.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param freeTurn true if the move earned the mover a free turn
+     */
+    @Override
+    public void moveApplied(int startIdx, boolean freeTurn) {
+        if (!recording) {
+            return;
+        }
+        add(startIdx, freeTurn, model.getBoardState());
+    }
+
+    /**
+     * Adds the game to the archive if a jump along the model's timeline
+     * reached its last position.
+     *
+     * @param ply the ply that is now shown
+     * @throws UncheckedIOException if the archive cannot write a segment
+     */
+    @Override
+    public void timelineMoved(int ply) {
+        if (model.isGameOver()) {
+            gameOver(null);
+        }
+    }
+
+    /**
+     * Drops the move that was undone.
+     */
+    @Override
+    public void undoApplied() {
+        if (plies > 0) {
+            plies--;
+        }
+    }
+
+    /**
+     * Adds the finished game to the archive.
+     *
+     * @param result the game result message
+     * @throws UncheckedIOException if the archive cannot write a segment
+     */
+    @Override
+    public void gameOver(String result) {
+        if (!recording) {
+            return;
+        }
+        GameTimeline timeline = model.getTimeline();
+        if (timeline != null) {
+            replay(timeline);
+        }
+        if (plies == 0) {
+            return;
+        }
+        recording = false;
+        try {
+            archive.addGame(moves, captures, pits, plies,
+                model.getBoardState().getScore(true), model.getBoardState().getScore(false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds the columns by playing the moves of the timeline's current
+     * line, up to the position shown, from the start of the game. As in
+     * the model, the last move is followed by the sweep and earns no free
+     * turn.
+     *
+     * @param timeline the model's timeline
+     */
+    private void replay(GameTimeline timeline) {
+        BoardState board = new BoardState();
+        board.fill(model.getStonesPerPit());
+        plies = 0;
+        for (int ply = 1; ply <= timeline.getPly(); ply++) {
+            int startIdx = timeline.getMove(ply);
+            boolean freeTurn = board.move(BoardState.isRegularPit(true, startIdx), startIdx);
+            if (board.isGameOver()) {
+                board.sweep();
+                freeTurn = false;
+            }
+            add(startIdx, freeTurn, board);
+        }
+    }
+
+    /**
+     * Appends a move and the board after it to the columns.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param freeTurn true if the move earned the mover a free turn
+     * @param board    the board after the move
+     */
+    private void add(int startIdx, boolean freeTurn, BoardState board) {
+        if (plies == moves.length) {
+            moves = Arrays.copyOf(moves, plies * 2);
+            captures = Arrays.copyOf(captures, plies * 2);
+            pits = Arrays.copyOf(pits, plies * 2 * BoardState.PIT_COUNT);
+        }
+        moves[plies] = (byte) (startIdx | (freeTurn ? GameArchive.FREE_TURN : 0));
+        int captured = board.getLastCaptured();
+        captures[plies] = (short) (captured == 0 ? 0 : board.getLastIndex() | captured << 4);
+        int at = plies * BoardState.PIT_COUNT;
+        for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+            pits[at + i] = (byte) board.getStones(i);
+        }
+        plies++;
+    }
+}
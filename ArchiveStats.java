@@ -0,0 +1,170 @@
+/**
+ * ArchiveStats holds the statistics a scan of a GameArchive computes.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * The ArchiveStats class counts, over a set of archived games, the results
+ * by the pit of the first move, the free turns, and the captures by the
+ * pit the capturing stone landed in. Each segment of an archive is scanned
+ * into its own ArchiveStats, and the parts are added together, so no
+ * counter is shared between threads.
+ */
+public class ArchiveStats {
+
+    private final long[][] byFirstMove = new long[BoardState.PIT_COUNT][3];
+    private final long[] capturesByPit = new long[BoardState.PIT_COUNT];
+    private long games;
+    private long plies;
+    private long freeTurns;
+    private long capturedStones;
+    private long inconsistent;
+
+    /**
+     * Counts one game.
+     *
+     * @param firstMove  the pit of the game's first move
+     * @param result     {@link GameArchive#A_WINS}, {@link GameArchive#B_WINS},
+     *                   or {@link GameArchive#TIE}
+     * @param gamePlies  the number of moves in the game
+     * @param gameFree   the number of those moves that earned a free turn
+     * @param consistent false if the last pit counts do not match the scores
+     */
+    void addGame(int firstMove, int result, int gamePlies, int gameFree, boolean consistent) {
+        byFirstMove[firstMove][result]++;
+        games++;
+        plies += gamePlies;
+        freeTurns += gameFree;
+        if (!consistent) inconsistent++;
+    }
+
+    /**
+     * Counts one capture.
+     *
+     * @param pit    the pit the capturing stone landed in
+     * @param stones the stones moved to the mancala
+     */
+    void addCapture(int pit, int stones) {
+        capturesByPit[pit]++;
+        capturedStones += stones;
+    }
+
+    /**
+     * Adds the counts of another part of the archive to this one.
+     *
+     * @param other the counts to add
+     */
+    public void add(ArchiveStats other) {
+        for (int pit = 0; pit < BoardState.PIT_COUNT; pit++) {
+            for (int result = 0; result < 3; result++) {
+                byFirstMove[pit][result] += other.byFirstMove[pit][result];
+            }
+            capturesByPit[pit] += other.capturesByPit[pit];
+        }
+        games += other.games;
+        plies += other.plies;
+        freeTurns += other.freeTurns;
+        capturedStones += other.capturedStones;
+        inconsistent += other.inconsistent;
+    }
+
+    /**
+     * Returns the number of games counted.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of moves counted.
+     *
+     * @return the ply count
+     */
+    public long getPlies() {
+        return plies;
+    }
+
+    /**
+     * Returns the number of games whose last pit counts did not match
+     * their final scores, which should always be zero.
+     *
+     * @return the inconsistent game count
+     */
+    public long getInconsistent() {
+        return inconsistent;
+    }
+
+    /**
+     * Returns the number of games that opened from a pit.
+     *
+     * @param pit the pit of the first move
+     * @return the game count
+     */
+    public long getGames(int pit) {
+        long[] counts = byFirstMove[pit];
+        return counts[0] + counts[1] + counts[2];
+    }
+
+    /**
+     * Returns the fraction of the games that opened from a pit which the
+     * first player won.
+     *
+     * @param pit the pit of the first move
+     * @return the win rate from 0 to 1, or 0 if no game opened there
+     */
+    public double getWinRate(int pit) {
+        long total = getGames(pit);
+        return total == 0 ? 0 : byFirstMove[pit][GameArchive.A_WINS] / (double) total;
+    }
+
+    /**
+     * Returns the average number of free turns per game.
+     *
+     * @return the free turns divided by the games
+     */
+    public double getAverageFreeTurns() {
+        return games == 0 ? 0 : freeTurns / (double) games;
+    }
+
+    /**
+     * Returns the average number of captures per game that landed in a pit.
+     *
+     * @param pit the landing pit
+     * @return the captures there divided by the games
+     */
+    public double getCaptureRate(int pit) {
+        return games == 0 ? 0 : capturesByPit[pit] / (double) games;
+    }
+
+    /**
+     * Formats the statistics as a small report.
+     *
+     * @return the win rate by first move, free turns, and captures by pit
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d games, %.1f moves per game, %.2f free turns per game, "
+            + "%.1f stones captured per game%n",
+            games, games == 0 ? 0 : plies / (double) games, getAverageFreeTurns(),
+            games == 0 ? 0 : capturedStones / (double) games));
+        report.append("first move   games      A wins   B wins   ties\n");
+        for (int pit = 0; pit < BoardState.PIT_COUNT; pit++) {
+            long total = getGames(pit);
+            if (total == 0) continue;
+            report.append(String.format("pit %2d   %,10d   %5.1f%%   %5.1f%%   %5.1f%%%n", pit, total,
+                100.0 * byFirstMove[pit][GameArchive.A_WINS] / total,
+                100.0 * byFirstMove[pit][GameArchive.B_WINS] / total,
+                100.0 * byFirstMove[pit][GameArchive.TIE] / total));
+        }
+        report.append("captures per game by landing pit:");
+        for (int pit = 0; pit < BoardState.PIT_COUNT; pit++) {
+            if (BoardState.isMancala(pit)) continue;
+            report.append(String.format(" %d:%.2f", pit, getCaptureRate(pit)));
+        }
+        return report.append(System.lineSeparator()).toString();
+    }
+}
@@ -1,7 +1,8 @@
 /**
  * BoardDesign defines the contract for drawing a Mancala board.
  * Implementations of this interface are responsible for rendering
- * the board layout and its pits using a given graphics context.
+ * the board layout and its pits using a given graphics context, and
+ * for finding the pit under a point of the drawn board.
  *
  * @author
  * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
@@ -15,9 +16,22 @@ import java.awt.Graphics2D;
 public interface BoardDesign {
 
     /**
-     * Draws the board design using the provided graphics context.
+     * Draws the board design using the provided graphics context, with every
+     * pit placed and sized by the given layout.
      *
-     * @param g2 the Graphics2D context used to render the board
+     * @param g2     the Graphics2D context used to render the board
+     * @param layout the pit geometry for the current panel size
      */
-    void draw(Graphics2D g2);
+    void draw(Graphics2D g2, BoardLayout layout);
+
+    /**
+     * Returns the pit under the given point of the most recently drawn board.
+     * Implementations answer from a {@link PitHitIndex} built when the board
+     * is drawn, so clicks before the first draw simply find no pit.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return the index of the pit, or -1 if no pit is at that point
+     */
+    int pitAt(int x, int y);
 }
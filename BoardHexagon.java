@@ -11,6 +11,7 @@
 import java.awt.Graphics2D;
 import java.awt.Color;
 import java.awt.Polygon;
+import java.awt.Shape;
 import java.awt.geom.Ellipse2D;
 import java.util.ArrayList;
 
@@ -22,8 +23,13 @@ import java.util.ArrayList;
  */
 public class BoardHexagon implements BoardDesign {
 
+    private static final Color BOARD_COLOR = new Color(245, 222, 179);
+    private static final Color PIT_COLOR = new Color(210, 180, 140);
+    private static final Color MANCALA_COLOR = new Color(160, 82, 45);
+
     private MancalaModel model;
     private ArrayList<Pit> pitList;
+    private PitHitIndex hitIndex;
 
     /**
      * Constructs a BoardHexagon that uses the given model to retrieve
@@ -37,100 +43,62 @@ public class BoardHexagon implements BoardDesign {
     
     /**
      * Draws the Mancala board using hexagonal pits for both players and
-     * oval shapes for the mancalas. This method also stores the screen
-     * coordinates and shapes of each pit and mancala in the pit list so
-     * the model and view can support user interaction.
+     * oval shapes for the mancalas, placed and sized by the given layout.
+     * This method also stores the screen coordinates and shapes of each pit
+     * and mancala in the pit list so the model and view can support user
+     * interaction, and rebuilds the index used to find the pit under a click.
      *
-     * @param g2 the Graphics2D context used to draw the board
+     * @param g2     the Graphics2D context used to draw the board
+     * @param layout the pit geometry for the current panel size
      */
     @Override
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, BoardLayout layout) {
         this.pitList = model.getPitList();
-        
-        int pitWidth = 80;
-        int pitHeight = 120;
-        int spacing = 20;
-        int mancalaWidth = 80;
-        int mancalaHeight = 300;
-        int boardX = 300;
-        int boardY = 50;
-        
-        g2.setColor(new Color(245, 222, 179)); 
-        g2.fillRect(boardX, boardY, 900, 600);
-        
-        // Player A's pits (bottom row)
-        for (int i = 0; i < 6; i++) {
-            int x = 150 + i * (pitWidth + spacing) + boardX;
-            int y = 400;
-            Polygon hex = createHexagon(x + pitWidth / 2, y + pitHeight / 2, pitWidth, pitHeight);
-            g2.setColor(new Color(210, 180, 140));
-            g2.fillPolygon(hex);
+        int mancalaA = (pitList.size() - 2) / 2;
+
+        g2.setColor(BOARD_COLOR);
+        g2.fillRect(layout.getBoardX(), layout.getBoardY(), layout.getBoardWidth(), layout.getBoardHeight());
+        g2.setFont(g2.getFont().deriveFont(layout.getFontSize()));
+
+        for (int i = 0; i < pitList.size(); i++) {
+            int x = layout.getPitX(i);
+            int y = layout.getPitY(i);
+            int width = layout.getPitWidth(i);
+            int height = layout.getPitHeight(i);
+            Shape shape;
+            if (i == mancalaA || i == pitList.size() - 1) {
+                shape = new Ellipse2D.Double(x, y, width, height);
+                g2.setColor(MANCALA_COLOR);
+            } else {
+                shape = createHexagon(x + width / 2, y + height / 2, width, height);
+                g2.setColor(PIT_COLOR);
+            }
+            g2.fill(shape);
             g2.setColor(Color.BLACK);
-            g2.drawPolygon(hex);
-            
-            // Links Player A's pits coordinates so model can access them
+            g2.draw(shape);
+
+            // Links the pit's coordinates so model can access them
             pitList.get(i).setPitXCoordinate(x);
             pitList.get(i).setPitYCoordinate(y);
-            pitList.get(i).setShape(hex);
-            
-            String label = pitList.get(i).getName();
-            g2.drawString(label, x+ 33, y + pitHeight + 15);
-        }
+            pitList.get(i).setShape(shape);
 
-        // Player B's pits (top row)
-        for (int i = 0; i < 6; i++) {
-            int x = 150 + i * (pitWidth + spacing) + boardX;
-            int y = 200;
-            Polygon hexagon = createHexagon(x + pitWidth / 2, y + pitHeight / 2, pitWidth, pitHeight);
-            g2.setColor(new Color(210, 180, 140));
-            g2.fillPolygon(hexagon);
-            g2.setColor(Color.BLACK);
-            g2.drawPolygon(hexagon);
-            
-            // Links Player B's pits coordinates so model can access them
-            int size = pitList.size();
-            pitList.get(size - 2 - i).setPitXCoordinate(x);
-            pitList.get(size - 2 - i).setPitYCoordinate(y);
-            pitList.get(size - 2 - i).setShape(hexagon);
-            
-            String label = pitList.get((size - 7) + i).getName();
-            g2.drawString(label, x + 33, y - 10);
+            g2.drawString(pitList.get(i).getName(), layout.getLabelX(i), layout.getLabelY(i));
         }
-        
-        // Player B's Mancala (left side)
-        g2.setColor(new Color(160, 82, 45)); 
-        g2.fillOval(50 + boardX, 200, mancalaWidth, mancalaHeight);
-        g2.setColor(Color.BLACK);
-        g2.drawOval(50 + boardX, 200, mancalaWidth, mancalaHeight);
-        
-        // Links Player B's mancala coordinates so model can access it
-        pitList.get(13).setPitXCoordinate(50 + boardX);
-        pitList.get(13).setPitYCoordinate(200);
-        Ellipse2D mancalaA = new Ellipse2D.Double(50 + boardX, 200, mancalaWidth, mancalaHeight);
-        pitList.get(13).setShape(mancalaA);
-        
-        String labelB = pitList.get(13).getName();
-        g2.drawString(labelB, 50 + boardX, 200 + mancalaHeight + 20);
 
-        // Player A's Mancala (right side)
-        g2.setColor(new Color(160, 82, 45));
-        g2.fillOval(150 + 6 * (pitWidth + spacing) + boardX, 200, mancalaWidth, mancalaHeight);
-        g2.setColor(Color.BLACK);
-        g2.drawOval(150 + 6 * (pitWidth + spacing) + boardX, 200, mancalaWidth, mancalaHeight);
-        
-        // Links Player A's mancala coordinates so model can access it
-        pitList.get(6).setPitXCoordinate(150 + 6 * (pitWidth + spacing) + boardX);
-        pitList.get(6).setPitYCoordinate(200);
-        Ellipse2D mancalaB = new Ellipse2D.Double(
-            150 + 6 * (pitWidth + spacing) + boardX,
-            200,
-            mancalaWidth,
-            mancalaHeight
-        );
-        pitList.get(6).setShape(mancalaB);
-        
-        String labelA = pitList.get(6).getName();
-        g2.drawString(labelA, 150 + 6 * (pitWidth + spacing) + boardX, 200 + mancalaHeight + 20);
+        hitIndex = new PitHitIndex(pitList);
+    }
+
+    /**
+     * Returns the pit under the given point of the most recently drawn board.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return the index of the pit, or -1 if no pit is at that point or the
+     *         board has not been drawn yet
+     */
+    @Override
+    public int pitAt(int x, int y) {
+        return hitIndex == null ? -1 : hitIndex.pitAt(x, y);
     }
 
     /**
@@ -0,0 +1,108 @@
+/**
+ * BoardLayerCache keeps a pre-rendered image of the static parts of a
+ * Mancala board so they do not have to be redrawn on every repaint.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The BoardLayerCache class renders a {@link BoardDesign} once into an
+ * opaque image that is compatible with the screen, then copies that image
+ * on each repaint. The image is rebuilt only when the design, the layout,
+ * the background color, or the screen's scale changes. Because a design also
+ * records each pit's position and shape while it draws, those stay valid
+ * between rebuilds.
+ * <p>
+ * On a HiDPI screen the image is rendered at device resolution and drawn
+ * back at panel size, so the board stays sharp instead of being upscaled.
+ */
+public class BoardLayerCache {
+
+    private BufferedImage layer;
+    private BoardDesign cachedDesign;
+    private BoardLayout cachedLayout;
+    private Color cachedBackground;
+    private double cachedScale;
+    private int rebuilds;
+
+    /**
+     * Draws the static board layer, rebuilding the cached image first if
+     * the design, layout, background, or screen scale has changed since the
+     * last call.
+     *
+     * @param g2         the graphics context to draw into
+     * @param design     the board design to render
+     * @param layout     the layout for the panel's current size
+     * @param background the color behind the board
+     */
+    public void paint(Graphics2D g2, BoardDesign design, BoardLayout layout, Color background) {
+        int width = layout.getWidth();
+        int height = layout.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        double scale = BoardLayout.deviceScale(g2);
+        if (layer == null || design != cachedDesign || layout != cachedLayout
+                || !background.equals(cachedBackground) || scale != cachedScale) {
+            rebuild(g2, design, layout, background, scale);
+        }
+        g2.drawImage(layer, 0, 0, width, height, null);
+    }
+
+    /**
+     * Drops the cached image so the next paint renders the design again.
+     */
+    public void invalidate() {
+        layer = null;
+    }
+
+    /**
+     * Returns how many times the layer has been rendered.
+     *
+     * @return the rebuild count
+     */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * Renders the design into a new image.
+     *
+     * @param target     the graphics context the layer will be drawn into
+     * @param design     the board design to render
+     * @param layout     the layout to render the design with
+     * @param background the color to fill the image with first
+     * @param scale      the number of device pixels per panel pixel
+     */
+    private void rebuild(Graphics2D target, BoardDesign design, BoardLayout layout, Color background, double scale) {
+        if (layer != null) {
+            layer.flush();
+        }
+        int width = layout.getWidth();
+        int height = layout.getHeight();
+        layer = target.getDeviceConfiguration().createCompatibleImage(
+            (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), Transparency.OPAQUE);
+        Graphics2D g2 = layer.createGraphics();
+        try {
+            g2.setRenderingHints(target.getRenderingHints());
+            g2.setFont(target.getFont());
+            g2.scale(scale, scale);
+            g2.setColor(background);
+            g2.fillRect(0, 0, width, height);
+            design.draw(g2, layout);
+        } finally {
+            g2.dispose();
+        }
+        cachedDesign = design;
+        cachedLayout = layout;
+        cachedBackground = background;
+        cachedScale = scale;
+        rebuilds++;
+    }
+}
@@ -0,0 +1,326 @@
+/**
+ * BoardLayout computes where every pit of a Mancala board goes for a given
+ * panel size, so the board scales with the window instead of using fixed
+ * pixel positions.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Graphics2D;
+
+/**
+ * The BoardLayout class describes the board in design units, using the
+ * proportions of the original 900 x 600 board (80 x 120 pits 20 apart, 80 x
+ * 300 mancalas), widened by 100 units for each extra pit per side. It
+ * scales that design to the largest size that fits the panel, centers it,
+ * and stores the resulting pixel rectangle and label position of every pit
+ * by board index: player A's pits along the bottom from left to right,
+ * then A's mancala on the right, then B's pits along the top from right to
+ * left, then B's mancala on the left.
+ * <p>
+ * A layout is immutable. The view keeps the layout for its current size
+ * and asks for a new one only when the panel is resized; the board design
+ * draws from it and records the same shapes the hit-test index is built
+ * from, so what is drawn and what is clickable always line up.
+ */
+public final class BoardLayout {
+
+    private static final int PIT_WIDTH = 80;
+    private static final int PIT_HEIGHT = 120;
+    private static final int PIT_STEP = 100;
+    private static final int MANCALA_HEIGHT = 300;
+    private static final int FIRST_PIT_X = 150;
+    private static final int TOP_ROW_Y = 150;
+    private static final int BOTTOM_ROW_Y = 350;
+    private static final int BOARD_HEIGHT = 600;
+    private static final int PADDING = 10;
+
+    private final int width;
+    private final int height;
+    private final int pitsPerSide;
+    private final double scale;
+    private final int boardX;
+    private final int boardY;
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int[] pitX;
+    private final int[] pitY;
+    private final int[] pitWidth;
+    private final int[] pitHeight;
+    private final int[] labelX;
+    private final int[] labelY;
+
+    /**
+     * Computes the layout of a board for a panel of the given size.
+     *
+     * @param width       the panel width in pixels
+     * @param height      the panel height in pixels
+     * @param pitsPerSide the number of regular pits on each player's side
+     * @throws IllegalArgumentException if pitsPerSide is less than one
+     */
+    public BoardLayout(int width, int height, int pitsPerSide) {
+        if (pitsPerSide < 1) throw new IllegalArgumentException("pitsPerSide must be >= 1");
+        this.width = width;
+        this.height = height;
+        this.pitsPerSide = pitsPerSide;
+
+        int unitsWide = 300 + PIT_STEP * pitsPerSide;
+        scale = Math.max(0.1, Math.min((width - 2.0 * PADDING) / unitsWide,
+            (height - 2.0 * PADDING) / BOARD_HEIGHT));
+        boardWidth = (int) Math.round(unitsWide * scale);
+        boardHeight = (int) Math.round(BOARD_HEIGHT * scale);
+        boardX = (width - boardWidth) / 2;
+        boardY = (height - boardHeight) / 2;
+
+        int count = 2 * pitsPerSide + 2;
+        pitX = new int[count];
+        pitY = new int[count];
+        pitWidth = new int[count];
+        pitHeight = new int[count];
+        labelX = new int[count];
+        labelY = new int[count];
+
+        for (int i = 0; i < pitsPerSide; i++) {
+            int x = FIRST_PIT_X + i * PIT_STEP;
+            place(i, x, BOTTOM_ROW_Y, PIT_WIDTH, PIT_HEIGHT, x + 33, BOTTOM_ROW_Y + PIT_HEIGHT + 15);
+            place(2 * pitsPerSide - i, x, TOP_ROW_Y, PIT_WIDTH, PIT_HEIGHT, x + 33, TOP_ROW_Y - 10);
+        }
+        int mancalaAX = FIRST_PIT_X + pitsPerSide * PIT_STEP;
+        place(pitsPerSide, mancalaAX, TOP_ROW_Y, PIT_WIDTH, MANCALA_HEIGHT,
+            mancalaAX, TOP_ROW_Y + MANCALA_HEIGHT + 20);
+        place(count - 1, 50, TOP_ROW_Y, PIT_WIDTH, MANCALA_HEIGHT, 50, TOP_ROW_Y + MANCALA_HEIGHT + 20);
+    }
+
+    /**
+     * Converts one pit from design units to pixels and stores it.
+     *
+     * @param idx    the board index of the pit
+     * @param x      the left edge in design units
+     * @param y      the top edge in design units
+     * @param w      the width in design units
+     * @param h      the height in design units
+     * @param labelX the x-coordinate of the label in design units
+     * @param labelY the baseline of the label in design units
+     */
+    private void place(int idx, int x, int y, int w, int h, int labelX, int labelY) {
+        pitX[idx] = toPixelsX(x);
+        pitY[idx] = toPixelsY(y);
+        pitWidth[idx] = toPixelsX(x + w) - pitX[idx];
+        pitHeight[idx] = toPixelsY(y + h) - pitY[idx];
+        this.labelX[idx] = toPixelsX(labelX);
+        this.labelY[idx] = toPixelsY(labelY);
+    }
+
+    /**
+     * Converts a horizontal design coordinate to a pixel coordinate.
+     *
+     * @param units the coordinate in design units
+     * @return the x-coordinate in pixels
+     */
+    private int toPixelsX(int units) {
+        return boardX + (int) Math.round(units * scale);
+    }
+
+    /**
+     * Converts a vertical design coordinate to a pixel coordinate.
+     *
+     * @param units the coordinate in design units
+     * @return the y-coordinate in pixels
+     */
+    private int toPixelsY(int units) {
+        return boardY + (int) Math.round(units * scale);
+    }
+
+    /**
+     * Returns how many device pixels one pixel of the panel covers, as set
+     * by the screen's scaling on HiDPI displays.
+     *
+     * @param g2 the graphics context of the panel
+     * @return the device scale, 1 on an unscaled screen
+     */
+    public static double deviceScale(Graphics2D g2) {
+        double scale = g2.getDeviceConfiguration().getDefaultTransform().getScaleX();
+        return scale > 0 ? scale : 1;
+    }
+
+    /**
+     * Checks whether this layout was computed for the given panel.
+     *
+     * @param width       the panel width in pixels
+     * @param height      the panel height in pixels
+     * @param pitsPerSide the number of regular pits on each side
+     * @return true if the layout can be reused as is
+     */
+    public boolean fits(int width, int height, int pitsPerSide) {
+        return this.width == width && this.height == height && this.pitsPerSide == pitsPerSide;
+    }
+
+    /**
+     * Returns the panel width this layout was computed for.
+     *
+     * @return the width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the panel height this layout was computed for.
+     *
+     * @return the height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of pits on the board, including both mancalas.
+     *
+     * @return the pit count
+     */
+    public int getPitCount() {
+        return pitX.length;
+    }
+
+    /**
+     * Returns the number of pixels per design unit.
+     *
+     * @return the scale factor
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the left edge of the board background.
+     *
+     * @return the x-coordinate in pixels
+     */
+    public int getBoardX() {
+        return boardX;
+    }
+
+    /**
+     * Returns the top edge of the board background.
+     *
+     * @return the y-coordinate in pixels
+     */
+    public int getBoardY() {
+        return boardY;
+    }
+
+    /**
+     * Returns the width of the board background.
+     *
+     * @return the width in pixels
+     */
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    /**
+     * Returns the height of the board background.
+     *
+     * @return the height in pixels
+     */
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    /**
+     * Returns the left edge of a pit.
+     *
+     * @param idx the board index of the pit
+     * @return the x-coordinate in pixels
+     */
+    public int getPitX(int idx) {
+        return pitX[idx];
+    }
+
+    /**
+     * Returns the top edge of a pit.
+     *
+     * @param idx the board index of the pit
+     * @return the y-coordinate in pixels
+     */
+    public int getPitY(int idx) {
+        return pitY[idx];
+    }
+
+    /**
+     * Returns the width of a pit.
+     *
+     * @param idx the board index of the pit
+     * @return the width in pixels
+     */
+    public int getPitWidth(int idx) {
+        return pitWidth[idx];
+    }
+
+    /**
+     * Returns the height of a pit.
+     *
+     * @param idx the board index of the pit
+     * @return the height in pixels
+     */
+    public int getPitHeight(int idx) {
+        return pitHeight[idx];
+    }
+
+    /**
+     * Returns where a pit's label starts.
+     *
+     * @param idx the board index of the pit
+     * @return the x-coordinate in pixels
+     */
+    public int getLabelX(int idx) {
+        return labelX[idx];
+    }
+
+    /**
+     * Returns the baseline of a pit's label.
+     *
+     * @param idx the board index of the pit
+     * @return the y-coordinate in pixels
+     */
+    public int getLabelY(int idx) {
+        return labelY[idx];
+    }
+
+    /**
+     * Returns the font size for pit labels.
+     *
+     * @return the size in points
+     */
+    public float getFontSize() {
+        return (float) (12 * scale);
+    }
+
+    /**
+     * Returns the diameter of one stone.
+     *
+     * @return the size in pixels, at least 2
+     */
+    public int getStoneSize() {
+        return Math.max(2, (int) Math.round(8 * scale));
+    }
+
+    /**
+     * Returns the space between neighbouring stones.
+     *
+     * @return the gap in pixels, at least 1
+     */
+    public int getStoneGap() {
+        return Math.max(1, (int) Math.round(4 * scale));
+    }
+
+    /**
+     * Returns how far the first stone sits from a pit's top-left corner.
+     *
+     * @return the inset in pixels
+     */
+    public int getStoneInset() {
+        return (int) Math.round(20 * scale);
+    }
+}
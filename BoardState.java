@@ -0,0 +1,317 @@
+/**
+ * BoardState is the compact, headless board engine for the Mancala game.
+ * It stores the 14 pit counts in a primitive array and applies sowing,
+ * captures, extra turns, and the end-game sweep without allocating.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * The BoardState class holds the stone counts of every pit and mancala.
+ * Indices 0-5 are player A's pits, 6 is player A's mancala, 7-12 are
+ * player B's pits (B6 down to B1), and 13 is player B's mancala.
+ * All rules operate directly on the primitive array so the board can be
+ * copied and searched cheaply by simulations and computer players. A Zobrist
+ * hash of the pit counts is kept up to date as stones move. Counts are
+ * stored in bytes, so the board as a whole may hold fewer than
+ * {@link Zobrist#STONE_LIMIT} stones.
+ */
+public final class BoardState {
+
+    /** Number of pits on the board, including both mancalas. */
+    public static final int PIT_COUNT = 14;
+    /** Index of player A's mancala. */
+    public static final int MANCALA_A = 6;
+    /** Index of player B's mancala. */
+    public static final int MANCALA_B = 13;
+    /** Bit mask with one bit set for every pit on the board. */
+    public static final int ALL_PITS = (1 << PIT_COUNT) - 1;
+
+    private final byte[] pits = new byte[PIT_COUNT];
+    private long hash;
+    private int lastIndex = -1;
+    private int lastCaptured;
+    private int changedPits;
+
+    /**
+     * Constructs an empty board with no stones in any pit.
+     */
+    public BoardState() {
+    }
+
+    /**
+     * Fills every regular pit with the given number of stones and
+     * empties both mancalas.
+     *
+     * @param stonesPerPit the starting number of stones in each regular pit
+     * @throws IllegalArgumentException if stonesPerPit is negative or the
+     *         board would hold {@link Zobrist#STONE_LIMIT} stones or more
+     */
+    public void fill(int stonesPerPit) {
+        if (stonesPerPit < 0 || stonesPerPit * (PIT_COUNT - 2) >= Zobrist.STONE_LIMIT) {
+            throw new IllegalArgumentException("stonesPerPit out of range: " + stonesPerPit);
+        }
+        hash = 0;
+        for (int i = 0; i < PIT_COUNT; i++) {
+            pits[i] = (byte) (isMancala(i) ? 0 : stonesPerPit);
+            hash ^= Zobrist.pitKey(i, pits[i]);
+        }
+        lastIndex = -1;
+        lastCaptured = 0;
+        changedPits = ALL_PITS;
+    }
+
+    /**
+     * Copies every pit count from another board into this one.
+     *
+     * @param other the board to copy from
+     */
+    public void copyFrom(BoardState other) {
+        System.arraycopy(other.pits, 0, pits, 0, PIT_COUNT);
+        hash = other.hash;
+        lastIndex = other.lastIndex;
+        lastCaptured = other.lastCaptured;
+        changedPits = ALL_PITS;
+    }
+
+    /**
+     * Returns a new board with the same pit counts as this one.
+     *
+     * @return a copy of this board
+     */
+    public BoardState copy() {
+        BoardState copy = new BoardState();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Returns the number of stones in the pit at the given index.
+     *
+     * @param idx the pit index
+     * @return the number of stones in that pit
+     */
+    public int getStones(int idx) {
+        return pits[idx];
+    }
+
+    /**
+     * Sets the number of stones in the pit at the given index.
+     *
+     * @param idx    the pit index
+     * @param stones the new stone count
+     */
+    public void setStones(int idx, int stones) {
+        hash ^= Zobrist.pitKey(idx, pits[idx]) ^ Zobrist.pitKey(idx, stones);
+        pits[idx] = (byte) stones;
+        changedPits |= 1 << idx;
+    }
+
+    /**
+     * Returns the pits written since the last call and clears the record.
+     * Bit i of the result is set if pit i was written, so a view can
+     * redraw only those pits.
+     *
+     * @return the bit mask of written pits
+     */
+    public int takeChangedPits() {
+        int changed = changedPits;
+        changedPits = 0;
+        return changed;
+    }
+
+    /**
+     * Returns the Zobrist hash of the pit counts. The side to move is not
+     * included; see {@link Zobrist#positionKey(long, boolean)}.
+     *
+     * @return the hash of this board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the index of the pit where the last stone of the most recent
+     * move landed.
+     *
+     * @return the last sown index, or -1 if no move has been made
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    /**
+     * Returns the number of stones moved into the mancala by a capture during
+     * the most recent move, including the capturing stone itself.
+     *
+     * @return the captured stone count, or 0 if the move did not capture
+     */
+    public int getLastCaptured() {
+        return lastCaptured;
+    }
+
+    /**
+     * Checks whether the given index is one of the two mancalas.
+     *
+     * @param idx the pit index
+     * @return true if the index is a mancala, false otherwise
+     */
+    public static boolean isMancala(int idx) {
+        return idx == MANCALA_A || idx == MANCALA_B;
+    }
+
+    /**
+     * Returns the index of the mancala owned by the given side.
+     *
+     * @param playerA true for player A, false for player B
+     * @return 6 for player A, 13 for player B
+     */
+    public static int mancalaIndex(boolean playerA) {
+        return playerA ? MANCALA_A : MANCALA_B;
+    }
+
+    /**
+     * Returns the index of the pit directly opposite the given index.
+     *
+     * @param idx the pit index
+     * @return the opposite pit index, or -1 for mancalas
+     */
+    public static int oppositeIndex(int idx) {
+        if (isMancala(idx)) return -1;
+        return 12 - idx;
+    }
+
+    /**
+     * Checks whether a pit index refers to a regular pit on the given side.
+     *
+     * @param playerA true for player A, false for player B
+     * @param idx     the pit index
+     * @return true if the pit is a regular pit on that side, false otherwise
+     */
+    public static boolean isRegularPit(boolean playerA, int idx) {
+        if (playerA) return idx >= 0 && idx <= 5;
+        return idx >= 7 && idx <= 12;
+    }
+
+    /**
+     * Checks whether the given side may sow from the pit at the given index.
+     *
+     * @param playerA true for player A, false for player B
+     * @param idx     the pit index
+     * @return true if the pit is on that side and is not empty
+     */
+    public boolean isLegalMove(boolean playerA, int idx) {
+        return isRegularPit(playerA, idx) && pits[idx] > 0;
+    }
+
+    /**
+     * Sows the stones from the given pit counter-clockwise, skipping the
+     * opponent's mancala, and applies a capture when the last stone lands in
+     * an empty pit on the mover's side opposite a non-empty pit. The move
+     * must be legal; see {@link #isLegalMove(boolean, int)}.
+     *
+     * @param playerA  true if player A is moving, false for player B
+     * @param startIdx the index of the pit to sow from
+     * @return true if the last stone landed in the mover's mancala (free turn)
+     */
+    public boolean move(boolean playerA, int startIdx) {
+        int skip = mancalaIndex(!playerA);
+        int stones = pits[startIdx];
+        setStones(startIdx, 0);
+
+        int idx = startIdx;
+        while (stones > 0) {
+            idx = (idx == PIT_COUNT - 1) ? 0 : idx + 1;
+            if (idx == skip) {
+                continue;
+            }
+            setStones(idx, pits[idx] + 1);
+            stones--;
+        }
+        lastIndex = idx;
+        lastCaptured = 0;
+
+        if (isRegularPit(playerA, idx) && pits[idx] == 1) {
+            int opp = 12 - idx;
+            int captured = pits[opp];
+            if (captured > 0) {
+                lastCaptured = captured + 1;
+                int mancala = mancalaIndex(playerA);
+                setStones(mancala, pits[mancala] + lastCaptured);
+                setStones(idx, 0);
+                setStones(opp, 0);
+            }
+        }
+        return idx == mancalaIndex(playerA);
+    }
+
+    /**
+     * Checks if all regular pits on the given side are empty.
+     *
+     * @param playerA true for player A's side, false for player B's side
+     * @return true if every regular pit on that side is empty
+     */
+    public boolean isSideEmpty(boolean playerA) {
+        int from = playerA ? 0 : 7;
+        for (int i = from; i < from + 6; i++) {
+            if (pits[i] > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether the game is over, which happens when either side
+     * of the board is completely empty.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return isSideEmpty(true) || isSideEmpty(false);
+    }
+
+    /**
+     * Returns the total number of stones left in the regular pits of one side.
+     *
+     * @param playerA true for player A's side, false for player B's side
+     * @return the number of stones on that side, excluding the mancala
+     */
+    public int sideStones(boolean playerA) {
+        int from = playerA ? 0 : 7;
+        int sum = 0;
+        for (int i = from; i < from + 6; i++) {
+            sum += pits[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Ends the game by moving the stones left on each side into that
+     * side's mancala.
+     */
+    public void sweep() {
+        int remainingA = 0;
+        for (int i = 0; i <= 5; i++) {
+            remainingA += pits[i];
+            setStones(i, 0);
+        }
+        setStones(MANCALA_A, pits[MANCALA_A] + remainingA);
+
+        int remainingB = 0;
+        for (int i = 7; i <= 12; i++) {
+            remainingB += pits[i];
+            setStones(i, 0);
+        }
+        setStones(MANCALA_B, pits[MANCALA_B] + remainingB);
+    }
+
+    /**
+     * Returns the number of stones in the given side's mancala.
+     *
+     * @param playerA true for player A, false for player B
+     * @return the stones in that side's mancala
+     */
+    public int getScore(boolean playerA) {
+        return pits[mancalaIndex(playerA)];
+    }
+}
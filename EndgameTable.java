@@ -0,0 +1,386 @@
+/**
+ * EndgameTable is a precomputed database of perfect-play values for
+ * Mancala positions with few stones left in the regular pits.
+ * It is built offline into a compact binary file and memory-mapped
+ * for constant-time lookups by the computer players and the model.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The EndgameTable class stores, for every distribution of up to N stones
+ * over the 12 regular pits, the number of stones the side to move will gain
+ * over its opponent from that point on if both sides play perfectly. The
+ * stones already in the mancalas do not affect future play, so they are left
+ * out of the index. Positions are stored from the point of view of the side
+ * to move: its own six pits first, in sowing order, then the opponent's six.
+ * <p>
+ * The table is solved bottom-up by the number of stones in play. Every move
+ * either drops stones into a mancala, which lowers that number, or only moves
+ * stones forward on the mover's own side, so the positions of one level form
+ * an acyclic graph and each value depends only on values already solved.
+ * <p>
+ * The file holds a 16-byte header (magic number, N, entry count) followed by
+ * one signed byte per position. Positions are indexed by stone count and then
+ * by their rank among the distributions of that many stones.
+ */
+public class EndgameTable {
+
+    /** Returned by {@link #value(BoardState, boolean)} for positions the table does not cover. */
+    public static final int NOT_COVERED = Integer.MIN_VALUE;
+
+    /** The largest number of stones in play a table may be built for. */
+    public static final int MAX_STONES = 24;
+
+    private static final int MAGIC = 0x4D544231; // "MTB1"
+    private static final int HEADER_BYTES = 16;
+    private static final int PITS = 12;
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+
+    /** BINOMIAL[n][k] is n choose k. */
+    private static final long[][] BINOMIAL = new long[MAX_STONES + PITS + 1][PITS + 1];
+
+    static {
+        for (int n = 0; n < BINOMIAL.length; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, PITS); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final int maxStones;
+    private final ByteBuffer values;
+
+    /**
+     * Constructs a table over the given value buffer.
+     *
+     * @param maxStones the largest number of stones in play the table covers
+     * @param values    one value per position, starting at index 0
+     */
+    private EndgameTable(int maxStones, ByteBuffer values) {
+        this.maxStones = maxStones;
+        this.values = values;
+    }
+
+    /**
+     * Memory-maps a table file written by {@link #generate(int, Path)}.
+     *
+     * @param file the table file
+     * @return the mapped table
+     * @throws IOException if the file cannot be read or is not a table file
+     */
+    public static EndgameTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not an endgame table: " + file);
+            }
+            int maxStones = header.getInt();
+            long count = header.getLong();
+            if (maxStones < 0 || maxStones > MAX_STONES || count != positionCount(maxStones)
+                    || channel.size() < HEADER_BYTES + count) {
+                throw new IOException("Corrupt endgame table: " + file);
+            }
+            MappedByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count);
+            return new EndgameTable(maxStones, values);
+        }
+    }
+
+    /**
+     * Returns the largest number of stones in play this table covers.
+     *
+     * @return the table's N
+     */
+    public int getMaxStones() {
+        return maxStones;
+    }
+
+    /**
+     * Returns the number of positions stored in a table for up to the given
+     * number of stones, which is also its size in bytes without the header.
+     *
+     * @param maxStones the table's N
+     * @return the number of positions
+     */
+    public static long positionCount(int maxStones) {
+        return BINOMIAL[maxStones + PITS][PITS];
+    }
+
+    /**
+     * Returns how many stones the side to move will gain over its opponent
+     * from now until the end of the game with perfect play by both sides.
+     * Adding the current mancala difference gives the final score difference.
+     *
+     * @param board   the board to look up
+     * @param playerA true if player A is to move
+     * @return the future stone gain, or {@link #NOT_COVERED} if more than
+     *         {@link #getMaxStones()} stones are in play
+     */
+    public int value(BoardState board, boolean playerA) {
+        int own = playerA ? 0 : 7;
+        int opp = playerA ? 7 : 0;
+        int remaining = board.sideStones(true) + board.sideStones(false);
+        if (remaining > maxStones) return NOT_COVERED;
+
+        long index = BINOMIAL[remaining + PITS - 1][PITS];
+        for (int i = 0; i < PITS - 1; i++) {
+            int stones = board.getStones(i < 6 ? own + i : opp + i - 6);
+            index += rankPart(remaining, stones, PITS - 1 - i);
+            remaining -= stones;
+        }
+        return values.get((int) index);
+    }
+
+    /**
+     * Returns the perfect-play move for the given side, or -1 if the
+     * position is not covered by the table or the side has no legal move.
+     *
+     * @param board   the board to move from; it is not modified
+     * @param playerA true if player A is to move
+     * @return the index of the best pit, or -1
+     */
+    public int bestMove(BoardState board, boolean playerA) {
+        if (board.isGameOver() || value(board, playerA) == NOT_COVERED) return -1;
+        BoardState next = new BoardState();
+        int from = playerA ? 0 : 7;
+        int bestMove = -1;
+        int best = Integer.MIN_VALUE;
+        for (int pit = from; pit < from + 6; pit++) {
+            if (board.getStones(pit) == 0) continue;
+            next.copyFrom(board);
+            boolean freeTurn = next.move(playerA, pit);
+            int gain = next.getScore(playerA) - board.getScore(playerA);
+            int score;
+            if (next.isGameOver()) {
+                score = gain + next.sideStones(playerA) - next.sideStones(!playerA);
+            } else if (freeTurn) {
+                score = gain + value(next, playerA);
+            } else {
+                score = gain - value(next, !playerA);
+            }
+            if (score > best) {
+                best = score;
+                bestMove = pit;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Counts the distributions of {@code remaining} stones over
+     * {@code rest + 1} pits whose first pit holds fewer than {@code stones}.
+     *
+     * @param remaining the stones left to place
+     * @param stones    the stones in the first of those pits
+     * @param rest      the number of pits after the first
+     * @return the number of distributions ranked before this one
+     */
+    private static long rankPart(int remaining, int stones, int rest) {
+        // sum over v < stones of C(remaining - v + rest - 1, rest - 1)
+        return BINOMIAL[remaining + rest][rest] - BINOMIAL[remaining - stones + rest][rest];
+    }
+
+    /**
+     * Returns the table index of a canonical 12-pit position.
+     *
+     * @param pits the side to move's six pits followed by the opponent's six
+     * @return the position's index
+     */
+    private static int index(int[] pits) {
+        int remaining = 0;
+        for (int stones : pits) {
+            remaining += stones;
+        }
+        long index = BINOMIAL[remaining + PITS - 1][PITS];
+        for (int i = 0; i < PITS - 1; i++) {
+            index += rankPart(remaining, pits[i], PITS - 1 - i);
+            remaining -= pits[i];
+        }
+        return (int) index;
+    }
+
+    /**
+     * Fills {@code pits} with the distribution of {@code total} stones that
+     * has the given rank.
+     *
+     * @param total the number of stones in play
+     * @param rank  the rank among distributions of that many stones
+     * @param pits  the array to fill
+     */
+    private static void unrank(int total, long rank, int[] pits) {
+        int remaining = total;
+        for (int i = 0; i < PITS - 1; i++) {
+            int rest = PITS - 1 - i;
+            int stones = 0;
+            while (true) {
+                long block = BINOMIAL[remaining - stones + rest - 1][rest - 1];
+                if (rank < block) break;
+                rank -= block;
+                stones++;
+            }
+            pits[i] = stones;
+            remaining -= stones;
+        }
+        pits[PITS - 1] = remaining;
+    }
+
+    /**
+     * Builds a table for every position with up to the given number of
+     * stones in play and writes it to a file.
+     *
+     * @param maxStones the table's N, at most {@link #MAX_STONES}
+     * @param file      the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if maxStones is out of range
+     */
+    public static void generate(int maxStones, Path file) throws IOException {
+        if (maxStones < 0 || maxStones > MAX_STONES) {
+            throw new IllegalArgumentException("maxStones must be between 0 and " + MAX_STONES);
+        }
+        byte[] table = new Solver(maxStones).solve();
+        try (OutputStream out = Files.newOutputStream(file);
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16))) {
+            data.writeInt(MAGIC);
+            data.writeInt(maxStones);
+            data.writeLong(table.length);
+            data.write(table);
+        }
+    }
+
+    /**
+     * Solves every position of a table in memory.
+     */
+    private static final class Solver {
+        private final int maxStones;
+        private final byte[] values;
+        private final int[][] pits;
+        private final BoardState[] boards;
+
+        /**
+         * Constructs a solver and allocates its per-depth scratch space.
+         *
+         * @param maxStones the table's N
+         */
+        Solver(int maxStones) {
+            this.maxStones = maxStones;
+            this.values = new byte[(int) positionCount(maxStones)];
+            Arrays.fill(values, UNKNOWN);
+            // each move on a level moves a stone forward, at most 5 places per
+            // stone, before a stone leaves the board and the next level starts
+            int depth = 5 * maxStones * (maxStones + 1) / 2 + maxStones + 2;
+            pits = new int[depth][PITS];
+            boards = new BoardState[depth];
+            for (int i = 0; i < depth; i++) {
+                boards[i] = new BoardState();
+            }
+        }
+
+        /**
+         * Solves every level from no stones up to N.
+         *
+         * @return the table values
+         */
+        byte[] solve() {
+            for (int total = 0; total <= maxStones; total++) {
+                long offset = BINOMIAL[total + PITS - 1][PITS];
+                long size = BINOMIAL[total + PITS - 1][PITS - 1];
+                for (long rank = 0; rank < size; rank++) {
+                    if (values[(int) (offset + rank)] == UNKNOWN) {
+                        unrank(total, rank, pits[0]);
+                        solve(0);
+                    }
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Solves the position stored at the given depth, solving any
+         * unsolved successors first.
+         *
+         * @param depth the depth of the scratch arrays holding the position
+         * @return the value of the position
+         */
+        private int solve(int depth) {
+            int[] position = pits[depth];
+            int own = 0;
+            int opp = 0;
+            for (int i = 0; i < 6; i++) {
+                own += position[i];
+                opp += position[i + 6];
+            }
+            int best;
+            if (own == 0 || opp == 0) {
+                best = own - opp;
+            } else {
+                best = Integer.MIN_VALUE;
+                BoardState board = boards[depth];
+                int[] child = pits[depth + 1];
+                for (int pit = 0; pit < 6; pit++) {
+                    if (position[pit] == 0) continue;
+                    board.fill(0);
+                    for (int i = 0; i < 6; i++) {
+                        board.setStones(i, position[i]);
+                        board.setStones(i + 7, position[i + 6]);
+                    }
+                    boolean freeTurn = board.move(true, pit);
+                    int gain = board.getScore(true);
+                    int score;
+                    if (board.isGameOver()) {
+                        score = gain + board.sideStones(true) - board.sideStones(false);
+                    } else {
+                        for (int i = 0; i < 6; i++) {
+                            child[freeTurn ? i : i + 6] = board.getStones(i);
+                            child[freeTurn ? i + 6 : i] = board.getStones(i + 7);
+                        }
+                        int childIndex = index(child);
+                        int value = values[childIndex] != UNKNOWN ? values[childIndex] : solve(depth + 1);
+                        score = freeTurn ? gain + value : gain - value;
+                    }
+                    best = Math.max(best, score);
+                }
+            }
+            values[index(position)] = (byte) best;
+            return best;
+        }
+    }
+
+    /**
+     * Builds a table file offline.
+     * Usage: {@code java EndgameTable <maxStones> <file>}
+     *
+     * @param args the table's N and the output file
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java EndgameTable <maxStones> <file>");
+            return;
+        }
+        int maxStones = Integer.parseInt(args[0]);
+        Path file = Paths.get(args[1]);
+        long start = System.nanoTime();
+        generate(maxStones, file);
+        System.out.printf("Built %,d positions for up to %d stones in %.2f s (%,d bytes)%n",
+            positionCount(maxStones), maxStones, (System.nanoTime() - start) / 1e9, Files.size(file));
+    }
+}
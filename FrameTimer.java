@@ -0,0 +1,102 @@
+/**
+ * FrameTimer measures how long the Mancala board takes to paint.
+ * It keeps the most recent frame times so the view can report them.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * The FrameTimer class records the duration of each paint between
+ * {@link #start()} and {@link #stop()} in a fixed ring of samples and
+ * reports the average and worst of the recent frames against the 60 FPS
+ * budget. It is meant to be used from the event dispatch thread only.
+ */
+public class FrameTimer {
+
+    /** The time available for one frame at 60 frames per second. */
+    public static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+
+    private final long[] samples;
+    private long frames;
+    private long startNanos;
+
+    /**
+     * Constructs a timer that keeps the given number of recent frames.
+     *
+     * @param window the number of frames to keep
+     * @throws IllegalArgumentException if window is less than one
+     */
+    public FrameTimer(int window) {
+        if (window < 1) throw new IllegalArgumentException("window must be >= 1");
+        this.samples = new long[window];
+    }
+
+    /**
+     * Marks the start of a frame.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the frame started by the last {@link #start()}.
+     *
+     * @return the duration of the frame in nanoseconds
+     */
+    public long stop() {
+        long nanos = System.nanoTime() - startNanos;
+        samples[(int) (frames % samples.length)] = nanos;
+        frames++;
+        return nanos;
+    }
+
+    /**
+     * Returns the total number of frames recorded.
+     *
+     * @return the frame count
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the average duration of the recent frames.
+     *
+     * @return the average in nanoseconds, or 0 if no frame has been recorded
+     */
+    public long getAverageNanos() {
+        int count = (int) Math.min(frames, samples.length);
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / count;
+    }
+
+    /**
+     * Returns the longest of the recent frames.
+     *
+     * @return the worst duration in nanoseconds
+     */
+    public long getWorstNanos() {
+        int count = (int) Math.min(frames, samples.length);
+        long worst = 0;
+        for (int i = 0; i < count; i++) {
+            worst = Math.max(worst, samples[i]);
+        }
+        return worst;
+    }
+
+    /**
+     * Returns a one-line summary of the recent frames.
+     *
+     * @return the frame count, average and worst times, and budget share
+     */
+    public String getSummary() {
+        return String.format("%,d frames, avg %.3f ms, worst %.3f ms (%.1f%% of a 60 FPS frame)",
+            frames, getAverageNanos() / 1e6, getWorstNanos() / 1e6,
+            getAverageNanos() * 100.0 / FRAME_BUDGET_NANOS);
+    }
+}
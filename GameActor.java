@@ -0,0 +1,144 @@
+/**
+ * GameActor confines one Mancala game to a mailbox so it can be played from
+ * a shared thread pool without locks.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The GameActor class owns a {@link MancalaModel}, which like Player and
+ * UndoManager is not thread-safe, and lets any thread send it commands.
+ * Commands wait in a lock-free queue and are applied one at a time, in the
+ * order they were sent, by a drain task on the shared executor. At most one
+ * drain task per game is scheduled at any time, so the model is only ever
+ * used by one thread at a time, and the hand-off through the queue and the
+ * scheduled flag makes each command see the effects of the ones before it.
+ * <p>
+ * Independent games share nothing but the executor, so throughput grows
+ * with its thread count. A drain task applies at most {@link #BATCH}
+ * commands before it reschedules itself, so one busy game cannot keep a
+ * thread from the others.
+ */
+public class GameActor {
+
+    /** The most commands one drain task applies before yielding. */
+    public static final int BATCH = 64;
+
+    private final MancalaModel model;
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Consumer<MancalaModel>> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+
+    /**
+     * Constructs an actor for a model. The model must not be used directly
+     * by any thread once it is given to the actor.
+     *
+     * @param model    the game to confine
+     * @param executor the executor that runs the game's commands
+     */
+    public GameActor(MancalaModel model, Executor executor) {
+        this.model = model;
+        this.executor = executor;
+    }
+
+    /**
+     * Sends a command to the game. It runs after every command sent before
+     * it from the same thread. A command that throws is reported on
+     * standard error and does not stop the ones after it.
+     *
+     * @param command the command to apply to the model
+     */
+    public void tell(Consumer<MancalaModel> command) {
+        mailbox.add(command);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(drain);
+        }
+    }
+
+    /**
+     * Sends a command that computes a result from the game.
+     *
+     * @param <T>     the type of the result
+     * @param command the command to apply to the model
+     * @return a future completed with the command's result, or with the
+     *         exception it threw
+     */
+    public <T> CompletableFuture<T> ask(Function<MancalaModel, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        tell(model -> {
+            try {
+                result.complete(command.apply(model));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Makes a move for the player whose turn it is.
+     *
+     * @param pit the board index of the pit to sow from
+     * @return a future completed with true if the move earned a free turn
+     */
+    public CompletableFuture<Boolean> makeMove(int pit) {
+        return ask(model -> model.makeMove(pit));
+    }
+
+    /**
+     * Takes back the current player's last move.
+     *
+     * @return a future completed with true if a move was undone
+     */
+    public CompletableFuture<Boolean> undo() {
+        return ask(MancalaModel::undoMove);
+    }
+
+    /**
+     * Ends the turn of the current player if they have moved, the way the
+     * Switch Player button does.
+     *
+     * @return a future completed with true if the turn passed
+     */
+    public CompletableFuture<Boolean> switchTurn() {
+        return ask(model -> {
+            if (model.isGameOver() || !model.getCurrentPlayer().getPlayerMove()) {
+                return false;
+            }
+            model.switchTurn();
+            model.getCurrentPlayer().didPlayerMove(false);
+            return true;
+        });
+    }
+
+    /**
+     * Applies up to {@link #BATCH} queued commands, then either finishes or
+     * schedules itself again if more commands are waiting.
+     */
+    private void drain() {
+        for (int i = 0; i < BATCH; i++) {
+            Consumer<MancalaModel> command = mailbox.poll();
+            if (command == null) {
+                break;
+            }
+            try {
+                command.accept(model);
+            } catch (RuntimeException e) {
+                System.err.println("Game command failed: " + e);
+            }
+        }
+        scheduled.set(false);
+        if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(drain);
+        }
+    }
+}
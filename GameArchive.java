@@ -0,0 +1,393 @@
+/**
+ * GameArchive stores finished Mancala games in a columnar file format and
+ * scans them in parallel for statistics.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The GameArchive class appends finished games to segment files named
+ * {@code archive-N.col} in one directory. A segment holds up to a fixed
+ * number of games, stored column by column rather than game by game:
+ * <pre>
+ *   plies    int per game, plus one: where each game's plies start
+ *   captures short per ply: the landing pit | stones captured &lt;&lt; 4,
+ *            or 0 if the move captured nothing
+ *   results  3 bytes per game: 0 if A won, 1 if B won, 2 for a tie,
+ *            then A's and B's final scores
+ *   moves    byte per ply: the pit sown from, | {@link #FREE_TURN}
+ *   pits     14 bytes per ply: every pit count after the move
+ * </pre>
+ * A 64-byte header with a CRC-32C gives the game and ply counts and where
+ * each column starts. A query maps a segment read-only and reads only the
+ * columns it needs, so statistics over moves, captures, and results never
+ * touch the pit counts, which make up most of the file. Segments are
+ * scanned in parallel by {@link #scan(Path, int)}.
+ * <p>
+ * Games are usually added by an {@link ArchiveExporter} listening to each
+ * model. Adding a game is synchronized, so exporters on many threads can
+ * share an archive. A segment is written to a temporary file, forced, and
+ * renamed when it fills or the archive is closed, so a crash loses only
+ * the games of the segment being filled.
+ */
+public class GameArchive implements Closeable {
+
+    /** The flag in the moves column for a move that earned a free turn. */
+    public static final int FREE_TURN = 0x10;
+    /** Result code for a game player A won. */
+    public static final int A_WINS = 0;
+    /** Result code for a game player B won. */
+    public static final int B_WINS = 1;
+    /** Result code for a tie. */
+    public static final int TIE = 2;
+
+    private static final int MAGIC = 0x4D434152;
+    private static final int HEADER_BYTES = 64;
+    private static final int DEFAULT_GAMES_PER_SEGMENT = 1 << 16;
+    private static final int MAX_PIT_BYTES = 1 << 30;
+
+    private final Path directory;
+    private final int gamesPerSegment;
+    private long nextSegment;
+    private int games;
+    private int plies;
+    private int[] plyStart = new int[1024];
+    private byte[] results = new byte[3 * 1024];
+    private byte[] moves = new byte[1 << 16];
+    private short[] captures = new short[1 << 16];
+    private byte[] pits = new byte[BoardState.PIT_COUNT << 16];
+
+    /**
+     * Opens an archive with 65,536 games per segment, creating the
+     * directory if needed. New segments follow the existing ones.
+     *
+     * @param directory the directory that holds the segments
+     * @throws IOException if the directory cannot be created or listed
+     */
+    public GameArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_GAMES_PER_SEGMENT);
+    }
+
+    /**
+     * Opens an archive, creating the directory if needed. New segments
+     * follow the existing ones, and a segment left unfinished by a crash
+     * is deleted.
+     *
+     * @param directory       the directory that holds the segments
+     * @param gamesPerSegment the number of games in a full segment
+     * @throws IOException if the directory cannot be created or listed
+     * @throws IllegalArgumentException if gamesPerSegment is less than one
+     */
+    public GameArchive(Path directory, int gamesPerSegment) throws IOException {
+        if (gamesPerSegment < 1) throw new IllegalArgumentException("gamesPerSegment must be >= 1");
+        this.directory = directory;
+        this.gamesPerSegment = gamesPerSegment;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().matches("archive-\\d{8}\\.tmp")) Files.delete(file);
+            }
+        }
+        ArrayList<Path> segments = segments(directory);
+        if (!segments.isEmpty()) {
+            String name = segments.get(segments.size() - 1).getFileName().toString();
+            nextSegment = Long.parseLong(name.substring(8, 16)) + 1;
+        }
+    }
+
+    /**
+     * Adds a finished game, writing the segment if it is full. A segment
+     * also ends early if its pit counts would pass 1 GB, so every segment
+     * can be mapped whole.
+     *
+     * @param gameMoves    the moves column values of the game's plies
+     * @param gameCaptures the captures column values of the game's plies
+     * @param gamePits     the pit counts after each ply, 14 per ply
+     * @param count        the number of plies
+     * @param scoreA       player A's final score
+     * @param scoreB       player B's final score
+     * @throws IOException if a full segment cannot be written
+     */
+    public synchronized void addGame(byte[] gameMoves, short[] gameCaptures, byte[] gamePits, int count,
+            int scoreA, int scoreB) throws IOException {
+        if ((long) (plies + count) * BoardState.PIT_COUNT > MAX_PIT_BYTES) {
+            flush();
+        }
+        if (games + 2 > plyStart.length) {
+            plyStart = Arrays.copyOf(plyStart, plyStart.length * 2);
+            results = Arrays.copyOf(results, results.length * 2);
+        }
+        if (plies + count > moves.length) {
+            int size = Math.max(moves.length * 2, plies + count);
+            moves = Arrays.copyOf(moves, size);
+            captures = Arrays.copyOf(captures, size);
+            pits = Arrays.copyOf(pits, size * BoardState.PIT_COUNT);
+        }
+        System.arraycopy(gameMoves, 0, moves, plies, count);
+        System.arraycopy(gameCaptures, 0, captures, plies, count);
+        System.arraycopy(gamePits, 0, pits, plies * BoardState.PIT_COUNT, count * BoardState.PIT_COUNT);
+        results[3 * games] = (byte) (scoreA > scoreB ? A_WINS : scoreB > scoreA ? B_WINS : TIE);
+        results[3 * games + 1] = (byte) scoreA;
+        results[3 * games + 2] = (byte) scoreB;
+        plyStart[games] = plies;
+        games++;
+        plies += count;
+        plyStart[games] = plies;
+        if (games == gamesPerSegment) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the games added since the last segment as a segment of their
+     * own, if there are any.
+     *
+     * @throws IOException if the segment cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (games == 0) {
+            return;
+        }
+        long plyOffset = HEADER_BYTES;
+        long capturesOffset = align(plyOffset + 4L * (games + 1));
+        long resultsOffset = align(capturesOffset + 2L * plies);
+        long movesOffset = align(resultsOffset + 3L * games);
+        long pitsOffset = align(movesOffset + plies);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(games).putInt(plies).putInt(0)
+            .putLong(plyOffset).putLong(capturesOffset).putLong(resultsOffset)
+            .putLong(movesOffset).putLong(pitsOffset);
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, 56);
+        header.putInt((int) crc.getValue()).putInt(0);
+        header.flip();
+
+        ByteBuffer starts = ByteBuffer.allocate(4 * (games + 1));
+        starts.asIntBuffer().put(plyStart, 0, games + 1);
+        ByteBuffer shorts = ByteBuffer.allocate(2 * plies);
+        shorts.asShortBuffer().put(captures, 0, plies);
+
+        Path temporary = directory.resolve(String.format("archive-%08d.tmp", nextSegment));
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeAt(channel, header, 0);
+            writeAt(channel, starts, plyOffset);
+            writeAt(channel, shorts, capturesOffset);
+            writeAt(channel, ByteBuffer.wrap(results, 0, 3 * games), resultsOffset);
+            writeAt(channel, ByteBuffer.wrap(moves, 0, plies), movesOffset);
+            writeAt(channel, ByteBuffer.wrap(pits, 0, plies * BoardState.PIT_COUNT), pitsOffset);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(String.format("archive-%08d.col", nextSegment)),
+            StandardCopyOption.ATOMIC_MOVE);
+        nextSegment++;
+        games = 0;
+        plies = 0;
+    }
+
+    /**
+     * Writes the games not yet in a segment.
+     *
+     * @throws IOException if the segment cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Rounds a file offset up to a multiple of 8.
+     *
+     * @param offset the offset
+     * @return the aligned offset
+     */
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Writes a whole buffer at a position in a file.
+     *
+     * @param channel  the file
+     * @param buffer   the bytes to write
+     * @param position where to write them
+     * @throws IOException if the write fails
+     */
+    private static void writeAt(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Scans every segment of an archive on a pool of threads, one segment
+     * per task, and combines their statistics.
+     *
+     * @param directory the directory that holds the segments
+     * @param threads   the number of threads
+     * @return the statistics of all games in the archive
+     * @throws IOException if a segment cannot be read or is corrupt
+     */
+    public static ArchiveStats scan(Path directory, int threads) throws IOException {
+        ArrayList<Path> segments = segments(directory);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            ArrayList<Future<ArchiveStats>> parts = new ArrayList<>();
+            for (Path segment : segments) {
+                parts.add(pool.submit(() -> scanSegment(segment)));
+            }
+            ArchiveStats total = new ArchiveStats();
+            for (Future<ArchiveStats> part : parts) {
+                total.add(part.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            // a ForkJoinPool wraps a task's checked exception in RuntimeExceptions
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while scanning the archive", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes the statistics of one segment from its plies, captures,
+     * results, and moves columns. Of the pit counts only each game's last
+     * ply is read, to check it against the final scores.
+     *
+     * @param segment the segment file
+     * @return the segment's statistics
+     * @throws IOException if the segment cannot be read or is corrupt
+     */
+    private static ArchiveStats scanSegment(Path segment) throws IOException {
+        ArchiveStats stats = new ArchiveStats();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("corrupt archive segment " + segment);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            ByteBuffer header = map.duplicate();
+            header.limit(56);
+            crc.update(header);
+            if (map.getInt(0) != MAGIC || map.getInt(56) != (int) crc.getValue()) {
+                throw new IOException("corrupt archive segment " + segment);
+            }
+            int games = map.getInt(4);
+            int plies = map.getInt(8);
+            if (games < 0 || plies < 0
+                    || !fits(map.getLong(16), 4L * (games + 1), size)
+                    || !fits(map.getLong(24), 2L * plies, size)
+                    || !fits(map.getLong(32), 3L * games, size)
+                    || !fits(map.getLong(40), plies, size)
+                    || !fits(map.getLong(48), (long) BoardState.PIT_COUNT * plies, size)) {
+                throw new IOException("corrupt archive segment " + segment);
+            }
+            int plyOffset = (int) map.getLong(16);
+            int capturesOffset = (int) map.getLong(24);
+            int resultsOffset = (int) map.getLong(32);
+            int movesOffset = (int) map.getLong(40);
+            int pitsOffset = (int) map.getLong(48);
+
+            int start = map.getInt(plyOffset);
+            if (start != 0) {
+                throw new IOException("corrupt archive segment " + segment);
+            }
+            for (int g = 0; g < games; g++) {
+                int end = map.getInt(plyOffset + 4 * (g + 1));
+                if (end < start || end > plies) {
+                    throw new IOException("corrupt archive segment " + segment);
+                }
+                if (end == start) {
+                    continue;
+                }
+                int result = map.get(resultsOffset + 3 * g);
+                if (result < 0 || result > TIE) {
+                    throw new IOException("corrupt archive segment " + segment);
+                }
+                int scoreA = map.get(resultsOffset + 3 * g + 1) & 0xFF;
+                int scoreB = map.get(resultsOffset + 3 * g + 2) & 0xFF;
+                int freeTurns = 0;
+                for (int p = start; p < end; p++) {
+                    if ((map.get(movesOffset + p) & FREE_TURN) != 0) {
+                        freeTurns++;
+                    }
+                    int capture = map.getShort(capturesOffset + 2 * p);
+                    if (capture < 0 || (capture & 0xF) >= BoardState.PIT_COUNT) {
+                        throw new IOException("corrupt archive segment " + segment);
+                    }
+                    if (capture != 0) {
+                        stats.addCapture(capture & 0xF, capture >>> 4);
+                    }
+                }
+                int last = pitsOffset + (end - 1) * BoardState.PIT_COUNT;
+                boolean consistent = map.get(last + BoardState.MANCALA_A) == scoreA
+                    && map.get(last + BoardState.MANCALA_B) == scoreB;
+                int firstMove = map.get(movesOffset + start) & 0xF;
+                if (firstMove >= BoardState.PIT_COUNT) {
+                    throw new IOException("corrupt archive segment " + segment);
+                }
+                stats.addGame(firstMove, result, end - start, freeTurns, consistent);
+                start = end;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Checks that a column lies after the header and within the segment.
+     *
+     * @param offset the column's offset from the header
+     * @param length the column's length in bytes
+     * @param size   the segment's size
+     * @return true if the whole column is inside the segment
+     */
+    private static boolean fits(long offset, long length, long size) {
+        return offset >= HEADER_BYTES && offset <= size && length <= size - offset;
+    }
+
+    /**
+     * Lists the segment files of an archive in order.
+     *
+     * @param directory the archive directory
+     * @return the segment paths, oldest first
+     * @throws IOException if the directory cannot be listed
+     */
+    private static ArrayList<Path> segments(Path directory) throws IOException {
+        ArrayList<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().matches("archive-\\d{8}\\.col")).forEach(segments::add);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+}
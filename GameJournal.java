@@ -0,0 +1,1106 @@
+/**
+ * GameJournal stores every change made to Mancala games in an append-only
+ * log on disk, so the games can be rebuilt after a crash.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The GameJournal class writes fixed-width 16-byte records into a series of
+ * segment files in one directory, shared by any number of games:
+ * <pre>
+ *   int  game id
+ *   byte record type ({@link #NEW}, {@link #MOVE}, {@link #UNDO},
+ *        {@link #SWITCH} or {@link #END})
+ *   byte argument (stones per pit for NEW, pit index for MOVE)
+ *   short zero
+ *   int  sequence number of the record in the journal
+ *   int  CRC-32C of the first 12 bytes
+ * </pre>
+ * Appending only copies a record into a memory buffer. A flusher thread
+ * swaps the buffer for an empty one, writes it, and forces it to disk, so
+ * every record appended while one write and force is in progress goes to
+ * disk in the next one: the cost of a force is shared by all the records
+ * of a batch, however many threads append. Callers that must not go on
+ * before a record is on disk wait with {@link #awaitDurable(long)}, which
+ * starts a commit at once; otherwise records gather for a short commit
+ * window, or until half the buffer is used, before they are written.
+ * <p>
+ * {@link #appendSnapshot(int, GameSnapshot)} adds a {@link GameSnapshot}
+ * of a game to the companion file {@code snapshot-N.log} of the current
+ * segment, as a 68-byte entry of game id, long sequence number, snapshot,
+ * and CRC-32C. The entry stands for every record of its game before that
+ * sequence number, so recovery starts each game from its latest snapshot
+ * and replays only the records after it. Once {@link #setCompactAfter(int)}
+ * segments have filled, a compactor thread folds them into a checkpoint
+ * file of one snapshot per live game and deletes them, so recovery reads
+ * one snapshot per game plus the few newest segments, however long the
+ * games have run. Compaction only reads closed segments, which never
+ * change, so neither appends nor the games wait for it.
+ * <p>
+ * When a journal is opened, the records of the last segment are checked
+ * and a torn tail left by a crash is cut off, along with the snapshots
+ * after it. {@link #replay(Path, Handler)} reads the segments after the
+ * checkpoint through a memory map and stops at the first record that
+ * fails its checksum or sequence check in the last segment; the same
+ * failure in an earlier segment means the journal is corrupt. A journal
+ * must always be opened with the same segment size.
+ */
+public class GameJournal implements Closeable {
+
+    /**
+     * Receives the records of a journal in the order they were appended.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Handles one record.
+         *
+         * @param game the game id
+         * @param type the record type
+         * @param arg  the record argument
+         */
+        void record(int game, int type, int arg);
+    }
+
+    /** The size of one record in bytes. */
+    public static final int RECORD_BYTES = 16;
+    /** The size of one snapshot entry in bytes. */
+    public static final int SNAPSHOT_ENTRY_BYTES = 12 + GameSnapshot.BYTES + 4;
+    /** A game was started or restarted; the argument is the stones per pit. */
+    public static final int NEW = 1;
+    /** A move was made; the argument is the pit index. */
+    public static final int MOVE = 2;
+    /** The current player's last move was undone. */
+    public static final int UNDO = 3;
+    /** The turn passed to the other player. */
+    public static final int SWITCH = 4;
+    /** The game was ended and its id may be reused. */
+    public static final int END = 5;
+
+    private static final int DEFAULT_SEGMENT_RECORDS = 1 << 22;
+    private static final int BUFFER_RECORDS = 1 << 14;
+    private static final int BUFFER_SNAPSHOTS = 1 << 10;
+    private static final long DEFAULT_COMMIT_MILLIS = 2;
+    private static final int CHECKPOINT_MAGIC = 0x4D434B50;
+    private static final int CHECKPOINT_HEADER_BYTES = 20;
+
+    /**
+     * Receives the records of a journal with their sequence numbers.
+     */
+    @FunctionalInterface
+    private interface Visitor {
+
+        /**
+         * Handles one record.
+         *
+         * @param sequence the record's sequence number
+         * @param game     the game id
+         * @param type     the record type
+         * @param arg      the record argument
+         */
+        void record(long sequence, int game, int type, int arg);
+    }
+
+    /**
+     * A snapshot read from disk with the sequence number it stands at.
+     */
+    private static final class SnapshotEntry {
+
+        private final long sequence;
+        private final GameSnapshot snapshot;
+
+        /**
+         * Creates an entry.
+         *
+         * @param sequence the number of records before the snapshot
+         * @param snapshot the snapshot
+         */
+        SnapshotEntry(long sequence, GameSnapshot snapshot) {
+            this.sequence = sequence;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * The state of every live game at the end of some segments: games that
+     * had records after their latest snapshot as models, the others as
+     * snapshots.
+     */
+    private static final class Fold {
+
+        private final HashMap<Integer, GameSnapshot> snapshots = new HashMap<>();
+        private final HashMap<Integer, MancalaModel> models = new HashMap<>();
+        private long nextSequence;
+    }
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final Object lock = new Object();
+    private final Object compactLock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private final Thread flusher;
+    private final ExecutorService compactor;
+    private final long commitNanos;
+    private ByteBuffer active = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_BYTES);
+    private ByteBuffer flushing = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_BYTES);
+    private ByteBuffer activeSnapshots = ByteBuffer.allocate(BUFFER_SNAPSHOTS * SNAPSHOT_ENTRY_BYTES);
+    private ByteBuffer flushingSnapshots = ByteBuffer.allocate(BUFFER_SNAPSHOTS * SNAPSHOT_ENTRY_BYTES);
+    private long appended;
+    private long durable;
+    private long flushes;
+    private int waiters;
+    private boolean closed;
+    private IOException failure;
+    private volatile int compactAfter = 4;
+    private volatile long checkpointSegment;
+    private volatile long compactions;
+
+    private FileChannel segment;
+    private FileChannel snapshots;
+    private volatile long segmentIndex;
+    private int segmentFill;
+    private long written;
+
+    /**
+     * Opens the journal in a directory with 64 MB segments and a 2 ms
+     * commit window, creating the directory if needed and cutting off a
+     * torn tail left by a crash.
+     *
+     * @param directory the directory that holds the segments
+     * @throws IOException if the journal cannot be opened or is corrupt
+     */
+    public GameJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_RECORDS, DEFAULT_COMMIT_MILLIS);
+    }
+
+    /**
+     * Opens the journal in a directory, creating the directory if needed
+     * and cutting off a torn tail left by a crash. Files left behind by a
+     * compaction that a crash interrupted are deleted.
+     *
+     * @param directory      the directory that holds the segments
+     * @param segmentRecords the number of records in a full segment
+     * @param commitMillis   how long the flusher lets records gather before
+     *                       a commit when no thread is waiting for one
+     * @throws IOException if the journal cannot be opened or is corrupt
+     * @throws IllegalArgumentException if segmentRecords is less than one or
+     *         a segment would reach 2 GB
+     */
+    public GameJournal(Path directory, int segmentRecords, long commitMillis) throws IOException {
+        if (segmentRecords < 1 || segmentRecords > Integer.MAX_VALUE / RECORD_BYTES) {
+            throw new IllegalArgumentException("segmentRecords out of range: " + segmentRecords);
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.commitNanos = Math.max(0, commitMillis) * 1_000_000L;
+        Files.createDirectories(directory);
+        Path checkpoint = latestCheckpoint(directory);
+        checkpointSegment = checkpoint == null ? -1 : number(checkpoint);
+        deleteThrough(directory, checkpointSegment);
+        ArrayList<Path> segments = segments(directory);
+        if (!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            segmentIndex = number(last);
+            long first = segmentIndex * segmentRecords;
+            segmentFill = (int) validRecords(last, first);
+            segment = FileChannel.open(last, StandardOpenOption.WRITE);
+            segment.truncate((long) segmentFill * RECORD_BYTES);
+            segment.position((long) segmentFill * RECORD_BYTES);
+            appended = first + segmentFill;
+        } else {
+            segmentIndex = checkpointSegment + 1;
+            segment = FileChannel.open(segmentPath(directory, segmentIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            appended = segmentIndex * segmentRecords;
+        }
+        Path snapshotFile = snapshotPath(directory, segmentIndex);
+        long entries = validSnapshots(snapshotFile, appended);
+        snapshots = FileChannel.open(snapshotFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        snapshots.truncate(entries * SNAPSHOT_ENTRY_BYTES);
+        snapshots.position(entries * SNAPSHOT_ENTRY_BYTES);
+        written = appended;
+        durable = appended;
+        compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "mancala-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher = new Thread(this::flushLoop, "mancala-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Appends a record. It is written to disk by the next group commit.
+     *
+     * @param game the game id
+     * @param type the record type
+     * @param arg  the record argument, 0 to 255
+     * @return the record's sequence number, the one stored in the record,
+     *         for {@link #awaitDurable(long)}
+     * @throws IOException if the journal has failed or is closed
+     */
+    public long append(int game, int type, int arg) throws IOException {
+        synchronized (lock) {
+            while (active.remaining() < RECORD_BYTES) {
+                check();
+                lock.notifyAll();
+                waitOnLock();
+            }
+            check();
+            int at = active.position();
+            active.putInt(game).put((byte) type).put((byte) arg).putShort((short) 0).putInt((int) appended);
+            crc.reset();
+            crc.update(active.array(), at, 12);
+            active.putInt((int) crc.getValue());
+            appended++;
+            if (active.position() == RECORD_BYTES || active.position() == active.capacity() / 2) {
+                lock.notifyAll();
+            }
+            return appended - 1;
+        }
+    }
+
+    /**
+     * Appends a snapshot of a game, which stands for every record of the
+     * game appended before it. It is written to disk by the next group
+     * commit, after those records.
+     *
+     * @param game     the game id
+     * @param snapshot the game's state after its last appended record
+     * @return the sequence number of the last record appended before the
+     *         snapshot, for {@link #awaitDurable(long)}, or -1 if the
+     *         journal holds no records
+     * @throws IOException if the journal has failed or is closed
+     */
+    public long appendSnapshot(int game, GameSnapshot snapshot) throws IOException {
+        synchronized (lock) {
+            while (activeSnapshots.remaining() < SNAPSHOT_ENTRY_BYTES) {
+                check();
+                lock.notifyAll();
+                waitOnLock();
+            }
+            check();
+            int at = activeSnapshots.position();
+            activeSnapshots.putInt(game).putLong(appended);
+            snapshot.writeTo(activeSnapshots);
+            crc.reset();
+            crc.update(activeSnapshots.array(), at, SNAPSHOT_ENTRY_BYTES - 4);
+            activeSnapshots.putInt((int) crc.getValue());
+            if (activeSnapshots.position() == SNAPSHOT_ENTRY_BYTES
+                    || activeSnapshots.position() == activeSnapshots.capacity() / 2) {
+                lock.notifyAll();
+            }
+            return appended - 1;
+        }
+    }
+
+    /**
+     * Waits until the record with the given sequence number, and every
+     * record before it, is on disk.
+     *
+     * @param sequence a number returned by {@link #append(int, int, int)}
+     * @throws IOException if the journal failed before the record was written
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        synchronized (lock) {
+            if (durable > sequence) return;
+            waiters++;
+            lock.notifyAll();
+            try {
+                while (durable <= sequence) {
+                    if (failure != null) throw failure;
+                    waitOnLock();
+                }
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    /**
+     * Sets how many full segments the journal keeps before the compactor
+     * folds them into a checkpoint.
+     *
+     * @param segments the number of full segments, or 0 to compact only
+     *                 when {@link #compact()} is called
+     */
+    public void setCompactAfter(int segments) {
+        this.compactAfter = Math.max(0, segments);
+    }
+
+    /**
+     * Folds every full segment into a checkpoint on the calling thread and
+     * deletes them. Appends go on while it runs.
+     *
+     * @throws IOException if the segments cannot be read or the checkpoint
+     *         cannot be written
+     */
+    public void compact() throws IOException {
+        compactThrough(segmentIndex - 1);
+    }
+
+    /**
+     * Returns the number of group commits written so far.
+     *
+     * @return the number of writes followed by a force to disk
+     */
+    public long getFlushCount() {
+        synchronized (lock) {
+            return flushes;
+        }
+    }
+
+    /**
+     * Returns the number of compactions finished so far.
+     *
+     * @return the number of checkpoints written
+     */
+    public long getCompactionCount() {
+        return compactions;
+    }
+
+    /**
+     * Returns the number of records in the journal, including ones not yet
+     * on disk and ones compacted away.
+     *
+     * @return the record count
+     */
+    public long getRecordCount() {
+        synchronized (lock) {
+            return appended;
+        }
+    }
+
+    /**
+     * Writes every appended record to disk, waits for a running compaction,
+     * and closes the journal.
+     *
+     * @throws IOException if the last records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+            compactor.shutdown();
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+        snapshots.close();
+        synchronized (lock) {
+            if (failure != null) throw failure;
+        }
+    }
+
+    /**
+     * Throws if the journal can no longer take records. Must hold the lock.
+     *
+     * @throws IOException if the journal has failed or is closed
+     */
+    private void check() throws IOException {
+        if (failure != null) throw failure;
+        if (closed) throw new IOException("journal is closed");
+    }
+
+    /**
+     * Waits on the lock, keeping the interrupt for the caller.
+     *
+     * @throws IOException if the thread is interrupted
+     */
+    private void waitOnLock() throws IOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for the journal", e);
+        }
+    }
+
+    /**
+     * Runs on the flusher thread: takes whatever has been appended, writes
+     * and forces it, and wakes the threads waiting for it, until the
+     * journal is closed and empty.
+     */
+    private void flushLoop() {
+        while (true) {
+            long target;
+            synchronized (lock) {
+                while (isEmpty() && !closed) {
+                    waitForFlusher(0);
+                }
+                if (isEmpty()) {
+                    return;
+                }
+                long due = System.nanoTime() + commitNanos;
+                long left;
+                while (waiters == 0 && !closed && active.position() < active.capacity() / 2
+                        && activeSnapshots.position() < activeSnapshots.capacity() / 2
+                        && (left = due - System.nanoTime()) > 0) {
+                    waitForFlusher(Math.max(1, left / 1_000_000));
+                }
+                ByteBuffer full = active;
+                active = flushing;
+                flushing = full;
+                full = activeSnapshots;
+                activeSnapshots = flushingSnapshots;
+                flushingSnapshots = full;
+                target = appended;
+                lock.notifyAll();
+            }
+            try {
+                flushing.flip();
+                flushingSnapshots.flip();
+                write(flushing, flushingSnapshots);
+                segment.force(false);
+                snapshots.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                flushing.clear();
+                flushingSnapshots.clear();
+            }
+            synchronized (lock) {
+                durable = target;
+                flushes++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns whether nothing has been appended since the last swap. Must
+     * hold the lock.
+     *
+     * @return true if both buffers are empty
+     */
+    private boolean isEmpty() {
+        return active.position() == 0 && activeSnapshots.position() == 0;
+    }
+
+    /**
+     * Waits on the lock from the flusher, which only close() stops, so an
+     * interrupt is ignored. Must hold the lock.
+     *
+     * @param millis the longest time to wait, or 0 to wait for a notify
+     */
+    private void waitForFlusher(long millis) {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            // only close() stops the flusher
+        }
+    }
+
+    /**
+     * Writes buffers of whole records and snapshot entries, starting new
+     * segments as they fill. Each snapshot entry is written to the snapshot
+     * file of the segment that holds the records before it.
+     *
+     * @param records the records to write
+     * @param entries the snapshot entries to write, in sequence order
+     * @throws IOException if a write fails
+     */
+    private void write(ByteBuffer records, ByteBuffer entries) throws IOException {
+        while (true) {
+            int from = entries.position();
+            while (entries.hasRemaining() && entries.getLong(entries.position() + 4) <= written) {
+                entries.position(entries.position() + SNAPSHOT_ENTRY_BYTES);
+            }
+            writeFully(snapshots, entries, from, entries.position());
+            if (!records.hasRemaining()) {
+                return;
+            }
+            if (segmentFill == segmentRecords) {
+                roll();
+            }
+            long room = segmentRecords - segmentFill;
+            if (entries.hasRemaining()) {
+                room = Math.min(room, entries.getLong(entries.position() + 4) - written);
+            }
+            int count = (int) Math.min(records.remaining() / RECORD_BYTES, room);
+            writeFully(segment, records, records.position(), records.position() + count * RECORD_BYTES);
+            segmentFill += count;
+            written += count;
+        }
+    }
+
+    /**
+     * Writes a range of a buffer to a channel and leaves the buffer's
+     * position at the end of the range.
+     *
+     * @param channel the file to write to
+     * @param buffer  the buffer
+     * @param from    the start of the range
+     * @param to      the end of the range
+     * @throws IOException if the write fails
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, int from, int to) throws IOException {
+        int limit = buffer.limit();
+        buffer.limit(to).position(from);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.limit(limit);
+    }
+
+    /**
+     * Closes the full segment and its snapshot file, opens the next ones,
+     * and starts a compaction if enough full segments have gathered.
+     *
+     * @throws IOException if a file cannot be forced or opened
+     */
+    private void roll() throws IOException {
+        segment.force(false);
+        snapshots.force(false);
+        segment.close();
+        snapshots.close();
+        long closedIndex = segmentIndex;
+        segmentIndex = closedIndex + 1;
+        segment = FileChannel.open(segmentPath(directory, segmentIndex),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        snapshots = FileChannel.open(snapshotPath(directory, segmentIndex),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentFill = 0;
+        int after = compactAfter;
+        if (after > 0 && closedIndex - checkpointSegment >= after) {
+            compactor.execute(() -> {
+                try {
+                    compactThrough(closedIndex);
+                } catch (IOException e) {
+                    System.err.println("Journal compaction failed: " + e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Folds the segments up to and including one into a new checkpoint,
+     * then deletes them and the old checkpoint. The checkpoint is written
+     * to a temporary file and renamed, so a crash leaves either the old
+     * state or the new one.
+     *
+     * @param last the index of the last segment to fold, which must be full
+     * @throws IOException if the segments cannot be read or the checkpoint
+     *         cannot be written
+     */
+    private void compactThrough(long last) throws IOException {
+        synchronized (compactLock) {
+            if (last <= checkpointSegment) {
+                return;
+            }
+            Fold fold = fold(directory, last);
+            for (Map.Entry<Integer, MancalaModel> game : fold.models.entrySet()) {
+                fold.snapshots.put(game.getKey(), game.getValue().snapshot());
+            }
+            Path temporary = directory.resolve(String.format("checkpoint-%08d.tmp", last));
+            writeCheckpoint(temporary, fold.snapshots, fold.nextSequence);
+            Files.move(temporary, checkpointPath(directory, last), StandardCopyOption.ATOMIC_MOVE);
+            checkpointSegment = last;
+            deleteThrough(directory, last);
+            compactions++;
+        }
+    }
+
+    /**
+     * Reads every record after the latest checkpoint of the journal in a
+     * directory, in order.
+     *
+     * @param directory the directory that holds the segments
+     * @param handler   receives each record
+     * @return the number of records read
+     * @throws IOException if a segment cannot be read or a segment other
+     *         than the last is corrupt
+     */
+    public static long replay(Path directory, Handler handler) throws IOException {
+        Path checkpoint = latestCheckpoint(directory);
+        long first = checkpoint == null ? 0 : readCheckpoint(checkpoint, null);
+        ArrayList<Path> segments = segmentsAfter(directory, checkpoint == null ? -1 : number(checkpoint), Long.MAX_VALUE);
+        return scan(segments, first, true, (sequence, game, type, arg) -> handler.record(game, type, arg)) - first;
+    }
+
+    /**
+     * Rebuilds every game that was started and not ended from the journal
+     * in a directory: each game starts from the checkpoint or its latest
+     * snapshot and replays the records after it. A switch record is
+     * replayed the way the Switch Player button applies it, which also
+     * clears the moved flag of the player whose turn begins. No journal may
+     * be open on the directory, since it could compact files away during
+     * the read.
+     *
+     * @param directory the directory that holds the segments
+     * @return the games by id
+     * @throws IOException if the journal cannot be read or is corrupt
+     */
+    public static Map<Integer, MancalaModel> recover(Path directory) throws IOException {
+        Fold fold = fold(directory, Long.MAX_VALUE);
+        HashMap<Integer, MancalaModel> games = fold.models;
+        for (Map.Entry<Integer, GameSnapshot> game : fold.snapshots.entrySet()) {
+            if (!games.containsKey(game.getKey())) {
+                MancalaModel model = new MancalaModel();
+                model.restore(game.getValue());
+                games.put(game.getKey(), model);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Applies a MOVE, UNDO, or SWITCH record to a game.
+     *
+     * @param model the game
+     * @param type  the record type
+     * @param arg   the record argument
+     */
+    public static void apply(MancalaModel model, int type, int arg) {
+        switch (type) {
+            case MOVE:
+                model.makeMove(arg);
+                break;
+            case UNDO:
+                model.undoMove();
+                break;
+            case SWITCH:
+                model.switchTurn();
+                model.getCurrentPlayer().didPlayerMove(false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Computes the state of every live game at the end of a segment from
+     * the latest checkpoint, the snapshots, and the records after each
+     * game's latest snapshot.
+     *
+     * @param directory the journal directory
+     * @param through   the index of the last segment to read
+     * @return the games
+     * @throws IOException if a file cannot be read or is corrupt
+     */
+    private static Fold fold(Path directory, long through) throws IOException {
+        Fold fold = new Fold();
+        Path checkpoint = latestCheckpoint(directory);
+        if (checkpoint != null) {
+            fold.nextSequence = readCheckpoint(checkpoint, fold.snapshots);
+        }
+        ArrayList<Path> segments = segmentsAfter(directory, checkpoint == null ? -1 : number(checkpoint), through);
+        boolean includesTail = through == Long.MAX_VALUE;
+
+        long end = fold.nextSequence;
+        for (int s = 0; s < segments.size(); s++) {
+            Path file = segments.get(s);
+            end += includesTail && s == segments.size() - 1 ? validRecords(file, end) : Files.size(file) / RECORD_BYTES;
+        }
+        HashMap<Integer, SnapshotEntry> latest = new HashMap<>();
+        for (int s = 0; s < segments.size(); s++) {
+            readSnapshots(snapshotPath(directory, number(segments.get(s))),
+                includesTail && s == segments.size() - 1, end, latest, new long[1]);
+        }
+
+        HashMap<Integer, GameSnapshot> base = fold.snapshots;
+        HashMap<Integer, MancalaModel> models = fold.models;
+        fold.nextSequence = scan(segments, fold.nextSequence, includesTail, (sequence, game, type, arg) -> {
+            SnapshotEntry entry = latest.get(game);
+            if (entry != null && sequence < entry.sequence) {
+                return;
+            }
+            if (type == END) {
+                models.remove(game);
+                latest.remove(game);
+                base.remove(game);
+                return;
+            }
+            MancalaModel model = models.get(game);
+            if (model == null) {
+                GameSnapshot start = entry != null ? entry.snapshot : base.get(game);
+                if (start == null && type != NEW) {
+                    return;
+                }
+                model = new MancalaModel();
+                if (start != null) {
+                    model.restore(start);
+                }
+                models.put(game, model);
+            }
+            if (type == NEW) {
+                model.setStonesPerPit(arg);
+                model.initialize();
+            } else {
+                apply(model, type, arg);
+            }
+        });
+        for (Map.Entry<Integer, SnapshotEntry> entry : latest.entrySet()) {
+            if (!models.containsKey(entry.getKey())) {
+                base.put(entry.getKey(), entry.getValue().snapshot);
+            }
+        }
+        return fold;
+    }
+
+    /**
+     * Reads the records of some segments in order.
+     *
+     * @param segments    the segment files
+     * @param first       the sequence number of the first record
+     * @param lastMayTear true if a bad record in the last segment ends the
+     *                    journal rather than making it corrupt
+     * @param visitor     receives each record
+     * @return the sequence number after the last record read
+     * @throws IOException if a segment cannot be read or is corrupt
+     */
+    private static long scan(List<Path> segments, long first, boolean lastMayTear, Visitor visitor)
+            throws IOException {
+        CRC32C crc = new CRC32C();
+        long sequence = first;
+        for (int s = 0; s < segments.size(); s++) {
+            boolean last = lastMayTear && s == segments.size() - 1;
+            try (FileChannel channel = FileChannel.open(segments.get(s), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size == 0) continue;
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                ByteBuffer check = map.duplicate();
+                for (int at = 0; at + RECORD_BYTES <= size; at += RECORD_BYTES) {
+                    if (!isValid(map, check, crc, at, sequence)) {
+                        if (last) return sequence;
+                        throw new IOException("corrupt record " + sequence + " in " + segments.get(s));
+                    }
+                    visitor.record(sequence, map.getInt(at), map.get(at + 4), map.get(at + 5) & 0xFF);
+                    sequence++;
+                }
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Counts the valid records at the start of a segment.
+     *
+     * @param file  the segment
+     * @param first the sequence number of its first record
+     * @return the number of records before the first invalid one
+     * @throws IOException if the segment cannot be read
+     */
+    private static long validRecords(Path file, long first) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return 0;
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer check = map.duplicate();
+            CRC32C crc = new CRC32C();
+            long count = 0;
+            for (int at = 0; at + RECORD_BYTES <= size; at += RECORD_BYTES) {
+                if (!isValid(map, check, crc, at, first + count)) break;
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Checks the checksum and sequence number of a mapped record.
+     *
+     * @param map      the mapped segment
+     * @param check    a duplicate of the map whose bounds this method moves
+     * @param crc      the checksum to compute with
+     * @param at       the offset of the record
+     * @param sequence the sequence number the record must have
+     * @return true if the record is intact and in its place
+     */
+    private static boolean isValid(MappedByteBuffer map, ByteBuffer check, CRC32C crc, int at, long sequence) {
+        check.limit(at + 12).position(at);
+        crc.reset();
+        crc.update(check);
+        return map.getInt(at + 12) == (int) crc.getValue() && map.getInt(at + 8) == (int) sequence;
+    }
+
+    /**
+     * Counts the valid snapshot entries at the start of a snapshot file
+     * that stand at or before a sequence number.
+     *
+     * @param file the snapshot file, which may not exist
+     * @param end  the number of records in the journal
+     * @return the number of entries to keep
+     * @throws IOException if the file cannot be read
+     */
+    private static long validSnapshots(Path file, long end) throws IOException {
+        long[] count = new long[1];
+        readSnapshots(file, true, end, null, count);
+        return count[0];
+    }
+
+    /**
+     * Reads the entries of a snapshot file that stand at or before a
+     * sequence number.
+     *
+     * @param file    the snapshot file, which may not exist
+     * @param mayTear true if a bad entry ends the file rather than making
+     *                it corrupt
+     * @param end     the number of records in the journal
+     * @param latest  the latest entry of each game, updated in place, or
+     *                null to only count the entries
+     * @param count   receives the number of entries kept
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    private static void readSnapshots(Path file, boolean mayTear, long end, Map<Integer, SnapshotEntry> latest,
+            long[] count) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return;
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            for (int at = 0; at + SNAPSHOT_ENTRY_BYTES <= size; at += SNAPSHOT_ENTRY_BYTES) {
+                ByteBuffer entry = map.duplicate();
+                entry.limit(at + SNAPSHOT_ENTRY_BYTES - 4).position(at);
+                crc.reset();
+                crc.update(entry);
+                long sequence = map.getLong(at + 4);
+                if (map.getInt(at + SNAPSHOT_ENTRY_BYTES - 4) != (int) crc.getValue() || sequence > end) {
+                    if (mayTear) return;
+                    throw new IOException("corrupt snapshot at byte " + at + " of " + file);
+                }
+                if (latest != null) {
+                    entry.limit(at + SNAPSHOT_ENTRY_BYTES - 4).position(at + 12);
+                    latest.put(map.getInt(at), new SnapshotEntry(sequence, GameSnapshot.readFrom(entry)));
+                }
+                count[0]++;
+            }
+        }
+    }
+
+    /**
+     * Writes a checkpoint file and forces it to disk.
+     *
+     * @param file         the file to write
+     * @param games        the snapshot of every live game
+     * @param nextSequence the sequence number of the first record after it
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeCheckpoint(Path file, Map<Integer, GameSnapshot> games, long nextSequence)
+            throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(CHECKPOINT_MAGIC).putInt(games.size()).putLong(nextSequence);
+            crc.update(buffer.array(), 0, 16);
+            buffer.putInt((int) crc.getValue());
+            for (Map.Entry<Integer, GameSnapshot> game : games.entrySet()) {
+                if (buffer.remaining() < SNAPSHOT_ENTRY_BYTES) {
+                    buffer.flip();
+                    writeFully(channel, buffer, 0, buffer.limit());
+                    buffer.clear();
+                }
+                int at = buffer.position();
+                buffer.putInt(game.getKey()).putLong(nextSequence);
+                game.getValue().writeTo(buffer);
+                crc.reset();
+                crc.update(buffer.array(), at, SNAPSHOT_ENTRY_BYTES - 4);
+                buffer.putInt((int) crc.getValue());
+            }
+            buffer.flip();
+            writeFully(channel, buffer, 0, buffer.limit());
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads a checkpoint file.
+     *
+     * @param file  the checkpoint
+     * @param games receives the snapshot of every game, or null to read
+     *              only the header
+     * @return the sequence number of the first record after the checkpoint
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    private static long readCheckpoint(Path file, Map<Integer, GameSnapshot> games) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            if (size < CHECKPOINT_HEADER_BYTES) {
+                throw new IOException("corrupt checkpoint " + file);
+            }
+            ByteBuffer header = map.duplicate();
+            header.limit(16);
+            crc.update(header);
+            int count = map.getInt(4);
+            if (map.getInt(0) != CHECKPOINT_MAGIC || map.getInt(16) != (int) crc.getValue()
+                    || size != CHECKPOINT_HEADER_BYTES + (long) count * SNAPSHOT_ENTRY_BYTES) {
+                throw new IOException("corrupt checkpoint " + file);
+            }
+            if (games != null) {
+                for (int i = 0; i < count; i++) {
+                    int at = CHECKPOINT_HEADER_BYTES + i * SNAPSHOT_ENTRY_BYTES;
+                    ByteBuffer entry = map.duplicate();
+                    entry.limit(at + SNAPSHOT_ENTRY_BYTES - 4).position(at);
+                    crc.reset();
+                    crc.update(entry);
+                    if (map.getInt(at + SNAPSHOT_ENTRY_BYTES - 4) != (int) crc.getValue()) {
+                        throw new IOException("corrupt checkpoint entry " + i + " in " + file);
+                    }
+                    entry.limit(at + SNAPSHOT_ENTRY_BYTES - 4).position(at + 12);
+                    games.put(map.getInt(at), GameSnapshot.readFrom(entry));
+                }
+            }
+            return map.getLong(8);
+        }
+    }
+
+    /**
+     * Deletes the segments and snapshot files up to and including one,
+     * every checkpoint before it, and unfinished checkpoints.
+     *
+     * @param directory the journal directory
+     * @param last      the index of the last segment to delete, or -1
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteThrough(Path directory, long last) throws IOException {
+        for (Path file : list(directory, "(journal|snapshot)-\\d{8}\\.log")) {
+            if (number(file) <= last) Files.delete(file);
+        }
+        for (Path file : list(directory, "checkpoint-\\d{8}\\.snap")) {
+            if (number(file) < last) Files.delete(file);
+        }
+        for (Path file : list(directory, "checkpoint-\\d{8}\\.tmp")) {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Returns the newest checkpoint of a journal.
+     *
+     * @param directory the journal directory
+     * @return the checkpoint file, or null if there is none
+     * @throws IOException if the directory cannot be listed
+     */
+    private static Path latestCheckpoint(Path directory) throws IOException {
+        ArrayList<Path> checkpoints = list(directory, "checkpoint-\\d{8}\\.snap");
+        return checkpoints.isEmpty() ? null : checkpoints.get(checkpoints.size() - 1);
+    }
+
+    /**
+     * Lists the segment files of a journal in order.
+     *
+     * @param directory the journal directory
+     * @return the segment paths, oldest first
+     * @throws IOException if the directory cannot be listed
+     */
+    private static ArrayList<Path> segments(Path directory) throws IOException {
+        return list(directory, "journal-\\d{8}\\.log");
+    }
+
+    /**
+     * Lists the segment files of a journal in a range of indices, in order.
+     *
+     * @param directory the journal directory
+     * @param after     the index before the first segment to list
+     * @param through   the index of the last segment to list
+     * @return the segment paths, oldest first
+     * @throws IOException if the directory cannot be listed
+     */
+    private static ArrayList<Path> segmentsAfter(Path directory, long after, long through) throws IOException {
+        ArrayList<Path> segments = segments(directory);
+        segments.removeIf(file -> number(file) <= after || number(file) > through);
+        return segments;
+    }
+
+    /**
+     * Lists the files of a directory whose names match a pattern, sorted.
+     *
+     * @param directory the directory
+     * @param pattern   the regular expression for the file names
+     * @return the matching paths in name order
+     * @throws IOException if the directory cannot be listed
+     */
+    private static ArrayList<Path> list(Path directory, String pattern) throws IOException {
+        ArrayList<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return files;
+        try (Stream<Path> all = Files.list(directory)) {
+            all.filter(p -> p.getFileName().toString().matches(pattern)).forEach(files::add);
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Returns the segment index in the name of a journal file.
+     *
+     * @param file a segment, snapshot, or checkpoint file
+     * @return the index
+     */
+    private static long number(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    /**
+     * Returns the path of a segment.
+     *
+     * @param directory the journal directory
+     * @param index     the segment number
+     * @return the segment's path
+     */
+    private static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("journal-%08d.log", index));
+    }
+
+    /**
+     * Returns the path of a segment's snapshot file.
+     *
+     * @param directory the journal directory
+     * @param index     the segment number
+     * @return the snapshot file's path
+     */
+    private static Path snapshotPath(Path directory, long index) {
+        return directory.resolve(String.format("snapshot-%08d.log", index));
+    }
+
+    /**
+     * Returns the path of the checkpoint that ends at a segment.
+     *
+     * @param directory the journal directory
+     * @param index     the number of the last segment it folds
+     * @return the checkpoint's path
+     */
+    private static Path checkpointPath(Path directory, long index) {
+        return directory.resolve(String.format("checkpoint-%08d.snap", index));
+    }
+}
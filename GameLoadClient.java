@@ -0,0 +1,391 @@
+/**
+ * GameLoadClient drives a GameServer with many concurrent games and reports
+ * throughput and move latency.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The GameLoadClient class opens a number of connections, starts an equal
+ * share of the games on each, and then plays every game with random legal
+ * moves until the time is up, starting a new game whenever one ends, so
+ * the number of live games stays constant. Each connection runs on its
+ * own thread and sends its games' commands in windows: it writes one
+ * command for each of up to {@code window} games, then reads the replies.
+ * A move's latency is the time from sending its window to reading its
+ * reply, which is what a client pipelining that many commands sees.
+ */
+public class GameLoadClient {
+
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    private final String host;
+    private final int port;
+    private final int games;
+    private final int connections;
+    private final int window;
+
+    /**
+     * Constructs a load generator for the given server.
+     *
+     * @param host        the server host
+     * @param port        the server port
+     * @param games       the number of games to keep live
+     * @param connections the number of connections to spread them over
+     * @param window      the number of commands sent before reading replies
+     * @throws IllegalArgumentException if a count is less than one
+     */
+    public GameLoadClient(String host, int port, int games, int connections, int window) {
+        if (games < 1 || connections < 1 || window < 1) {
+            throw new IllegalArgumentException("games, connections and window must be >= 1");
+        }
+        this.host = host;
+        this.port = port;
+        this.games = games;
+        this.connections = Math.min(connections, games);
+        this.window = window;
+    }
+
+    /**
+     * Plays for the given time and returns a summary of the results.
+     *
+     * @param seconds how long to play
+     * @return the throughput and latency percentiles
+     * @throws IOException if a connection fails
+     * @throws InterruptedException if interrupted while waiting for the
+     *         connections to finish
+     */
+    public String run(int seconds) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ArrayList<Driver> drivers = new ArrayList<>();
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            int share = games / connections + (i < games % connections ? 1 : 0);
+            Driver driver = new Driver(new Socket(host, port), share, window, deadline, i);
+            drivers.add(driver);
+            Thread thread = new Thread(driver, "mancala-load-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long commands = 0;
+        long moves = 0;
+        long finished = 0;
+        long errors = 0;
+        int samples = 0;
+        for (Driver driver : drivers) {
+            if (driver.failure != null) {
+                throw driver.failure;
+            }
+            commands += driver.commands;
+            moves += driver.moves;
+            finished += driver.finished;
+            errors += driver.errors;
+            samples += driver.sampleCount;
+        }
+        long[] latencies = new long[samples];
+        int at = 0;
+        for (Driver driver : drivers) {
+            System.arraycopy(driver.samples, 0, latencies, at, driver.sampleCount);
+            at += driver.sampleCount;
+        }
+        Arrays.sort(latencies);
+        return String.format("%,d live games on %d connections, window %d, %d s%n"
+            + "%,d commands (%,.0f/s), %,d moves (%,.0f/s), %,d games finished, %,d errors%n"
+            + "move latency: p50 %s, p99 %s, p99.9 %s, max %s",
+            games, connections, window, seconds,
+            commands, commands / (double) seconds, moves, moves / (double) seconds, finished, errors,
+            micros(latencies, 0.50), micros(latencies, 0.99), micros(latencies, 0.999), micros(latencies, 1.0));
+    }
+
+    /**
+     * Formats a percentile of sorted latencies in microseconds.
+     *
+     * @param sorted   the latencies in nanoseconds, sorted
+     * @param quantile the quantile from 0 to 1
+     * @return the latency as text
+     */
+    private static String micros(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return "n/a";
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return String.format("%,.0f us", sorted[Math.max(0, index)] / 1000.0);
+    }
+
+    /**
+     * Plays one connection's games on its own thread.
+     */
+    private static final class Driver implements Runnable {
+
+        private static final int NONE = 0;
+        private static final int NEW = 1;
+        private static final int MOVE = 2;
+        private static final int SWITCH = 3;
+        private static final int END = 4;
+
+        private final Socket socket;
+        private final int window;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final int[] ids;
+        private final byte[][] boards;
+        private final char[] turns;
+        private final boolean[] moved;
+        private final int[] pending;
+        private long[] samples;
+        private final byte[] lineBuffer = new byte[256];
+        private InputStream in;
+        private OutputStream out;
+        private int sampleCount;
+        private long commands;
+        private long moves;
+        private long finished;
+        private long errors;
+        private IOException failure;
+
+        /**
+         * Creates a driver for one connection.
+         *
+         * @param socket   the connected socket
+         * @param games    the number of games to play on it
+         * @param window   the commands sent before reading replies
+         * @param deadline the System.nanoTime() at which to stop
+         * @param seed     the seed for the move choices
+         */
+        Driver(Socket socket, int games, int window, long deadline, long seed) {
+            this.socket = socket;
+            this.window = window;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+            this.ids = new int[games];
+            this.boards = new byte[games][BoardState.PIT_COUNT];
+            this.turns = new char[games];
+            this.moved = new boolean[games];
+            this.pending = new int[games];
+            this.samples = new long[4096];
+        }
+
+        /**
+         * Starts the games, then plays windows of commands until the
+         * deadline, and closes the connection.
+         */
+        @Override
+        public void run() {
+            try (Socket s = socket) {
+                s.setTcpNoDelay(true);
+                in = new BufferedInputStream(s.getInputStream(), 1 << 16);
+                out = new BufferedOutputStream(s.getOutputStream(), 1 << 16);
+                Arrays.fill(pending, NEW);
+                for (int first = 0; first < ids.length; first += window) {
+                    exchange(first, Math.min(ids.length, first + window));
+                }
+                while (System.nanoTime() < deadline) {
+                    for (int first = 0; first < ids.length && System.nanoTime() < deadline; first += window) {
+                        int last = Math.min(ids.length, first + window);
+                        for (int g = first; g < last; g++) {
+                            pending[g] = nextCommand(g);
+                        }
+                        exchange(first, last);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Chooses the next command for a game from its last known state.
+         *
+         * @param g the game's index on this connection
+         * @return the command to send
+         */
+        private int nextCommand(int g) {
+            if (turns[g] == '-') {
+                return END;
+            }
+            return moved[g] ? SWITCH : MOVE;
+        }
+
+        /**
+         * Sends the pending command of every game in a range, then reads and
+         * applies the replies in the same order.
+         *
+         * @param first the first game of the window
+         * @param last  the index after the last game of the window
+         * @throws IOException if the connection fails
+         */
+        private void exchange(int first, int last) throws IOException {
+            for (int g = first; g < last; g++) {
+                switch (pending[g]) {
+                    case NEW:
+                        write("NEW\n");
+                        break;
+                    case MOVE:
+                        write("MOVE " + ids[g] + " " + randomPit(g) + "\n");
+                        break;
+                    case SWITCH:
+                        write("SWITCH " + ids[g] + "\n");
+                        break;
+                    case END:
+                        write("END " + ids[g] + "\nNEW\n");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            out.flush();
+            long sent = System.nanoTime();
+            for (int g = first; g < last; g++) {
+                int command = pending[g];
+                if (command == END) {
+                    readLine();
+                    finished++;
+                    commands++;
+                    command = NEW;
+                }
+                int length = readLine();
+                commands++;
+                if (command == MOVE) {
+                    moves++;
+                    record(System.nanoTime() - sent);
+                }
+                if (!parseGame(g, length)) {
+                    errors++;
+                }
+                pending[g] = NONE;
+            }
+        }
+
+        /**
+         * Keeps a move latency, growing the sample array up to its limit.
+         *
+         * @param nanos the latency in nanoseconds
+         */
+        private void record(long nanos) {
+            if (sampleCount == samples.length) {
+                if (samples.length == MAX_SAMPLES) {
+                    return;
+                }
+                samples = Arrays.copyOf(samples, samples.length * 2);
+            }
+            samples[sampleCount++] = nanos;
+        }
+
+        /**
+         * Picks a random non-empty pit on the side of the player to move.
+         *
+         * @param g the game's index on this connection
+         * @return the pit's board index
+         */
+        private int randomPit(int g) {
+            int from = turns[g] == 'A' ? 0 : 7;
+            int count = 0;
+            for (int pit = from; pit < from + 6; pit++) {
+                if (boards[g][pit] > 0) count++;
+            }
+            int pick = random.nextInt(Math.max(1, count));
+            for (int pit = from; pit < from + 6; pit++) {
+                if (boards[g][pit] > 0 && pick-- == 0) return pit;
+            }
+            return from;
+        }
+
+        /**
+         * Stores the state of a game from an {@code OK id turn moved counts}
+         * reply in the line buffer.
+         *
+         * @param g      the game's index on this connection
+         * @param length the length of the reply
+         * @return false if the reply was an error
+         */
+        private boolean parseGame(int g, int length) {
+            byte[] b = lineBuffer;
+            if (length < 3 || b[0] != 'O') {
+                return false;
+            }
+            int i = 3;
+            int id = 0;
+            while (b[i] != ' ') {
+                id = id * 10 + b[i++] - '0';
+            }
+            ids[g] = id;
+            turns[g] = (char) b[i + 1];
+            moved[g] = b[i + 3] == '1';
+            i += 5;
+            for (int pit = 0; pit < BoardState.PIT_COUNT; pit++) {
+                int count = 0;
+                while (i < length && b[i] != ',') {
+                    count = count * 10 + b[i++] - '0';
+                }
+                boards[g][pit] = (byte) count;
+                i++;
+            }
+            return true;
+        }
+
+        /**
+         * Writes ASCII text to the connection's buffer.
+         *
+         * @param text the text to write
+         * @throws IOException if the connection fails
+         */
+        private void write(String text) throws IOException {
+            out.write(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Reads one reply line into the line buffer.
+         *
+         * @return the length of the line without its newline
+         * @throws IOException if the connection fails or closes
+         */
+        private int readLine() throws IOException {
+            int length = 0;
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new EOFException("server closed the connection");
+                }
+                if (length < lineBuffer.length) {
+                    lineBuffer[length++] = (byte) b;
+                }
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Runs the load generator against a server.
+     *
+     * @param args host, port, games, connections, window, and seconds, with
+     *             defaults localhost, {@value GameServer#DEFAULT_PORT}, 50000,
+     *             16, 64, and 10
+     * @throws Exception if the connections fail
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 50000;
+        int connections = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int window = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+        int seconds = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+        System.out.println(new GameLoadClient(host, port, games, connections, window).run(seconds));
+    }
+}
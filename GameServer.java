@@ -0,0 +1,564 @@
+/**
+ * GameServer hosts many independent Mancala games in one headless process
+ * and lets clients play them over TCP with a simple line-based protocol.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The GameServer class keeps one {@link MancalaModel} per game and runs
+ * every connection on a single non-blocking event loop thread, which reads
+ * commands, applies them to the games, and writes the replies. Because
+ * only that thread touches the games, they need no locking, and a game
+ * costs about 300 bytes: the model with its board, players and undo
+ * history. Its pit list for drawing is never created.
+ * <p>
+ * Each command is one line of ASCII text and gets exactly one reply line,
+ * in order, so clients may pipeline as many commands as they like:
+ * <ul>
+ *   <li>{@code NEW [stones]} - starts a game with 1 to 10 stones per pit,
+ *       4 by default</li>
+ *   <li>{@code MOVE id pit} - sows from the pit with the given board index</li>
+ *   <li>{@code SWITCH id} - ends the turn of a player who has moved</li>
+ *   <li>{@code UNDO id} - takes back the current player's last move</li>
+ *   <li>{@code BOARD id} - returns the game without changing it</li>
+ *   <li>{@code END id} - ends the game and frees its id</li>
+ * </ul>
+ * A game reply is {@code OK id turn moved counts}, where turn is {@code A}
+ * or {@code B} for the player to move or {@code -} once the game is over,
+ * moved is 1 if that player has already moved this turn, and counts are
+ * the 14 pit counts by board index, separated by commas. {@code END}
+ * replies {@code OK id}, and a rejected command replies
+ * {@code ERR reason}. Games belong to the connection that started them and
+ * are ended when it closes.
+ */
+public class GameServer implements Closeable {
+
+    /** The port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 7000;
+
+    private static final int MAX_LINE = 256;
+    private static final int MAX_REPLY = 128;
+    private static final int MAX_STONES = MancalaModel.MAX_STONES_PER_PIT;
+
+    private static final int CMD_NEW = 0;
+    private static final int CMD_MOVE = 1;
+    private static final int CMD_SWITCH = 2;
+    private static final int CMD_UNDO = 3;
+    private static final int CMD_BOARD = 4;
+    private static final int CMD_END = 5;
+
+    private static final byte[] NEW = ascii("NEW");
+    private static final byte[] MOVE = ascii("MOVE");
+    private static final byte[] SWITCH = ascii("SWITCH");
+    private static final byte[] UNDO = ascii("UNDO");
+    private static final byte[] BOARD = ascii("BOARD");
+    private static final byte[] END = ascii("END");
+    private static final byte[] OK = ascii("OK ");
+    private static final byte[] ERR = ascii("ERR ");
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread loop;
+    private volatile boolean running = true;
+    private volatile int liveGames;
+
+    private MancalaModel[] games = new MancalaModel[1024];
+    private Connection[] owners = new Connection[1024];
+    private int[] ownedSlots = new int[1024];
+    private int[] freeIds = new int[64];
+    private int freeCount;
+    private int nextId;
+
+    private byte[] line;
+    private int cursor;
+    private int lineEnd;
+
+    /**
+     * One client connection with its input and output buffers and the ids
+     * of the games it started.
+     */
+    private static final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(4096);
+        private final ByteBuffer out = ByteBuffer.allocate(16384);
+        private int[] owned = new int[8];
+        private int ownedCount;
+
+        /**
+         * Creates the state for an accepted channel.
+         *
+         * @param channel the client channel
+         */
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Opens a server socket on the given port. Call {@link #start()} to
+     * begin accepting connections.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::serve, "mancala-server");
+    }
+
+    /**
+     * Starts the event loop thread.
+     */
+    public void start() {
+        loop.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the number of games being played.
+     *
+     * @return the live game count
+     */
+    public int getGameCount() {
+        return liveGames;
+    }
+
+    /**
+     * Stops the event loop and closes every connection.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Runs the event loop until the server is closed.
+     */
+    private void serve() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+            }
+        } catch (IOException e) {
+            System.err.println("Game server stopped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles one ready key. A connection that fails is closed.
+     *
+     * @param key the ready key
+     */
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Connection c = (Connection) key.attachment();
+            if (key.isWritable()) {
+                flush(c, key);
+            }
+            if (key.isValid() && key.isReadable()) {
+                if (c.channel.read(c.in) < 0) {
+                    drop(key);
+                    return;
+                }
+                process(c);
+                flush(c, key);
+            }
+        } catch (IOException e) {
+            if (key.attachment() instanceof Connection) {
+                drop(key);
+            } else {
+                System.err.println("Could not accept a connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Accepts every pending connection.
+     *
+     * @throws IOException if a connection cannot be set up
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+        }
+    }
+
+    /**
+     * Writes as much pending output as the socket takes. While output is
+     * left over the connection waits for the socket instead of reading more
+     * commands; once it drains, commands already read are processed.
+     *
+     * @param c   the connection
+     * @param key the connection's key
+     * @throws IOException if the write fails
+     */
+    private void flush(Connection c, SelectionKey key) throws IOException {
+        c.out.flip();
+        c.channel.write(c.out);
+        c.out.compact();
+        if (c.out.position() > 0) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        if (key.interestOps() != SelectionKey.OP_READ) {
+            key.interestOps(SelectionKey.OP_READ);
+            if (c.in.position() > 0) {
+                process(c);
+                flush(c, key);
+            }
+        }
+    }
+
+    /**
+     * Closes a connection and ends the games it started.
+     *
+     * @param key the connection's key
+     */
+    private void drop(SelectionKey key) {
+        Connection c = (Connection) key.attachment();
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // already closed
+        }
+        while (c.ownedCount > 0) {
+            free(c.owned[c.ownedCount - 1]);
+        }
+    }
+
+    /**
+     * Executes every complete command line in the connection's input, as
+     * long as the output buffer has room for the replies.
+     *
+     * @param c the connection
+     */
+    private void process(Connection c) {
+        byte[] bytes = c.in.array();
+        int limit = c.in.position();
+        int start = 0;
+        int i = 0;
+        for (; i < limit && c.out.remaining() >= MAX_REPLY; i++) {
+            if (bytes[i] == '\n') {
+                int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                execute(c, bytes, start, end);
+                start = i + 1;
+            }
+        }
+        if (i == limit && start == 0 && limit == bytes.length) {
+            error(c, "line too long");
+            limit = 0;
+        }
+        System.arraycopy(bytes, start, bytes, 0, limit - start);
+        c.in.position(limit - start);
+    }
+
+    /**
+     * Executes one command line and writes its reply.
+     *
+     * @param c     the connection that sent the command
+     * @param bytes the input buffer
+     * @param start the first byte of the line
+     * @param end   the index after the last byte of the line
+     */
+    private void execute(Connection c, byte[] bytes, int start, int end) {
+        line = bytes;
+        cursor = start;
+        lineEnd = Math.min(end, start + MAX_LINE);
+        int command = word(NEW) ? CMD_NEW : word(MOVE) ? CMD_MOVE : word(SWITCH) ? CMD_SWITCH
+            : word(UNDO) ? CMD_UNDO : word(BOARD) ? CMD_BOARD : word(END) ? CMD_END : -1;
+        if (command == -1) {
+            error(c, "unknown command");
+            return;
+        }
+        if (command == CMD_NEW) {
+            int stones = nextInt();
+            if (stones == -1) {
+                stones = 4;
+            }
+            if (stones < 1 || stones > MAX_STONES) {
+                error(c, "stones must be 1 to " + MAX_STONES);
+                return;
+            }
+            reply(c, create(c, stones));
+            return;
+        }
+
+        int id = nextInt();
+        if (id < 0 || id >= nextId || games[id] == null || owners[id] != c) {
+            error(c, "no such game");
+            return;
+        }
+        MancalaModel game = games[id];
+        if (command == CMD_END) {
+            free(id);
+            c.out.put(OK);
+            putInt(c.out, id);
+            c.out.put((byte) '\n');
+            return;
+        }
+        if (command != CMD_BOARD && game.isGameOver()) {
+            error(c, "game over");
+            return;
+        }
+        boolean moved = game.getCurrentPlayer().getPlayerMove();
+        switch (command) {
+            case CMD_MOVE:
+                int pit = nextInt();
+                if (moved) {
+                    error(c, "already moved");
+                    return;
+                }
+                if (!BoardState.isRegularPit(game.getCurrentPlayer() == game.getPlayerA(), pit)) {
+                    error(c, "invalid pit");
+                    return;
+                }
+                if (game.getBoardState().getStones(pit) == 0) {
+                    error(c, "empty pit");
+                    return;
+                }
+                game.makeMove(pit);
+                break;
+            case CMD_SWITCH:
+                if (!moved) {
+                    error(c, "move first");
+                    return;
+                }
+                game.switchTurn();
+                game.getCurrentPlayer().didPlayerMove(false);
+                break;
+            case CMD_UNDO:
+                if (!moved) {
+                    error(c, "no move to undo");
+                    return;
+                }
+                if (!game.undoMove()) {
+                    error(c, "no undos left");
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        reply(c, id);
+    }
+
+    /**
+     * Starts a game owned by the given connection.
+     *
+     * @param c      the owning connection
+     * @param stones the stones per pit
+     * @return the game's id
+     */
+    private int create(Connection c, int stones) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id == games.length) {
+                games = Arrays.copyOf(games, id * 2);
+                owners = Arrays.copyOf(owners, id * 2);
+                ownedSlots = Arrays.copyOf(ownedSlots, id * 2);
+            }
+        }
+        MancalaModel game = new MancalaModel();
+        game.setStonesPerPit(stones);
+        game.initialize();
+        games[id] = game;
+        owners[id] = c;
+        if (c.ownedCount == c.owned.length) {
+            c.owned = Arrays.copyOf(c.owned, c.ownedCount * 2);
+        }
+        ownedSlots[id] = c.ownedCount;
+        c.owned[c.ownedCount++] = id;
+        liveGames++;
+        return id;
+    }
+
+    /**
+     * Ends a game and makes its id available again. The id is removed from
+     * its owner's list by moving the owner's last id into its slot.
+     *
+     * @param id the game's id
+     */
+    private void free(int id) {
+        Connection c = owners[id];
+        int last = c.owned[--c.ownedCount];
+        c.owned[ownedSlots[id]] = last;
+        ownedSlots[last] = ownedSlots[id];
+        games[id] = null;
+        owners[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        liveGames--;
+    }
+
+    /**
+     * Writes the reply describing a game.
+     *
+     * @param c  the connection to reply on
+     * @param id the game's id
+     */
+    private void reply(Connection c, int id) {
+        MancalaModel game = games[id];
+        ByteBuffer out = c.out;
+        out.put(OK);
+        putInt(out, id);
+        out.put((byte) ' ');
+        if (game.isGameOver()) {
+            out.put((byte) '-');
+        } else {
+            out.put((byte) (game.getCurrentPlayer() == game.getPlayerA() ? 'A' : 'B'));
+        }
+        out.put((byte) ' ');
+        out.put((byte) (game.getCurrentPlayer().getPlayerMove() ? '1' : '0'));
+        BoardState board = game.getBoardState();
+        for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+            out.put((byte) (i == 0 ? ' ' : ','));
+            putInt(out, board.getStones(i));
+        }
+        out.put((byte) '\n');
+    }
+
+    /**
+     * Writes an error reply.
+     *
+     * @param c      the connection to reply on
+     * @param reason the reason the command was rejected
+     */
+    private static void error(Connection c, String reason) {
+        c.out.put(ERR);
+        c.out.put(reason.getBytes(StandardCharsets.US_ASCII));
+        c.out.put((byte) '\n');
+    }
+
+    /**
+     * Consumes the given word if the line continues with it followed by a
+     * space or the end of the line.
+     *
+     * @param word the expected word
+     * @return true if the word was consumed
+     */
+    private boolean word(byte[] word) {
+        int end = cursor + word.length;
+        if (end > lineEnd || (end < lineEnd && line[end] != ' ')) {
+            return false;
+        }
+        for (int i = 0; i < word.length; i++) {
+            if (line[cursor + i] != word[i]) {
+                return false;
+            }
+        }
+        cursor = end;
+        return true;
+    }
+
+    /**
+     * Consumes the next number of the line.
+     *
+     * @return the number, -1 if the line has no more tokens, or -2 if the
+     *         next token is not a number of at most nine digits
+     */
+    private int nextInt() {
+        while (cursor < lineEnd && line[cursor] == ' ') {
+            cursor++;
+        }
+        if (cursor == lineEnd) {
+            return -1;
+        }
+        int value = 0;
+        int digits = 0;
+        while (cursor < lineEnd && line[cursor] != ' ') {
+            int digit = line[cursor++] - '0';
+            if (digit < 0 || digit > 9 || ++digits > 9) {
+                return -2;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a non-negative number in decimal.
+     *
+     * @param out   the buffer to write to
+     * @param value the number
+     */
+    private static void putInt(ByteBuffer out, int value) {
+        if (value >= 10) {
+            putInt(out, value / 10);
+        }
+        out.put((byte) ('0' + value % 10));
+    }
+
+    /**
+     * Encodes a protocol word.
+     *
+     * @param text the word
+     * @return its ASCII bytes
+     */
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     *
+     * @param args an optional port, {@value #DEFAULT_PORT} by default
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        GameServer server = new GameServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        server.start();
+        System.out.println("Mancala game server listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * GameSnapshot is an immutable copy of everything needed to resume a
+ * Mancala game at a point in time.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.nio.ByteBuffer;
+
+/**
+ * The GameSnapshot class holds the 14 pit counts, the stones per pit, whose
+ * turn it is, whether each player has moved this turn, each player's undo
+ * count, and the undo history and flags that UndoManager keeps. Scores are
+ * not stored, since the model always takes them from the mancalas.
+ * <p>
+ * A snapshot is taken by {@link MancalaModel#snapshot()} on the game's
+ * thread, which copies a few dozen bytes, and never changes afterwards, so
+ * other threads can encode and write it while the game goes on. It encodes
+ * to {@link #BYTES} bytes.
+ */
+public final class GameSnapshot {
+
+    /** The size of an encoded snapshot in bytes. */
+    public static final int BYTES = 52;
+
+    private static final int MAX_HISTORY = 8;
+    private static final int A_TO_MOVE = 1;
+    private static final int A_MOVED = 2;
+    private static final int B_MOVED = 4;
+    private static final int UNDO_FOR_A = 8;
+    private static final int JUST_UNDID = 16;
+
+    private final byte[] pits;
+    private final int stonesPerPit;
+    private final int flags;
+    private final int undosA;
+    private final int undosB;
+    private final int[] undoHistory;
+
+    /**
+     * Constructs a snapshot from copies of the game's state.
+     *
+     * @param pits         the pit counts, which the snapshot keeps
+     * @param stonesPerPit the stones per pit the game started with
+     * @param flags        the turn and undo flags
+     * @param undosA       player A's undo count
+     * @param undosB       player B's undo count
+     * @param undoHistory  the packed undo records, oldest first, which the
+     *                     snapshot keeps
+     */
+    private GameSnapshot(byte[] pits, int stonesPerPit, int flags, int undosA, int undosB, int[] undoHistory) {
+        this.pits = pits;
+        this.stonesPerPit = stonesPerPit;
+        this.flags = flags;
+        this.undosA = undosA;
+        this.undosB = undosB;
+        this.undoHistory = undoHistory;
+    }
+
+    /**
+     * Copies the state of a game. Used by {@link MancalaModel#snapshot()}.
+     *
+     * @param board        the board
+     * @param stonesPerPit the stones per pit the game started with
+     * @param playerA      player A
+     * @param playerB      player B
+     * @param manager      the undo manager
+     * @return the snapshot
+     */
+    static GameSnapshot of(BoardState board, int stonesPerPit, Player playerA, Player playerB, UndoManager manager) {
+        byte[] pits = new byte[BoardState.PIT_COUNT];
+        for (int i = 0; i < pits.length; i++) {
+            pits[i] = (byte) board.getStones(i);
+        }
+        int flags = (playerA.getTurn() ? A_TO_MOVE : 0)
+            | (playerA.getPlayerMove() ? A_MOVED : 0)
+            | (playerB.getPlayerMove() ? B_MOVED : 0)
+            | (manager.getCurrentPlayer() == playerA ? UNDO_FOR_A : 0)
+            | (manager.getJustUndid() ? JUST_UNDID : 0);
+        return new GameSnapshot(pits, stonesPerPit, flags, playerA.getNumberOfUndos(),
+            playerB.getNumberOfUndos(), manager.getHistory());
+    }
+
+    /**
+     * Returns the stones in a pit.
+     *
+     * @param idx the pit index
+     * @return the stone count
+     */
+    public int getStones(int idx) {
+        return pits[idx];
+    }
+
+    /**
+     * Returns the stones per pit the game started with.
+     *
+     * @return the stones per pit
+     */
+    public int getStonesPerPit() {
+        return stonesPerPit;
+    }
+
+    /**
+     * Returns whether it is player A's turn.
+     *
+     * @return true if player A is to move
+     */
+    public boolean isPlayerAToMove() {
+        return (flags & A_TO_MOVE) != 0;
+    }
+
+    /**
+     * Returns whether a player has already moved this turn.
+     *
+     * @param playerA true for player A, false for player B
+     * @return true if the player has moved
+     */
+    public boolean hasMoved(boolean playerA) {
+        return (flags & (playerA ? A_MOVED : B_MOVED)) != 0;
+    }
+
+    /**
+     * Returns a player's undo count.
+     *
+     * @param playerA true for player A, false for player B
+     * @return the number of undos the player has used
+     */
+    public int getNumberOfUndos(boolean playerA) {
+        return playerA ? undosA : undosB;
+    }
+
+    /**
+     * Returns whether the undo manager counts player A's undos.
+     *
+     * @return true if player A is the undo manager's current player
+     */
+    boolean isUndoForA() {
+        return (flags & UNDO_FOR_A) != 0;
+    }
+
+    /**
+     * Returns whether the most recent action was an undo.
+     *
+     * @return the undo manager's flag
+     */
+    boolean getJustUndid() {
+        return (flags & JUST_UNDID) != 0;
+    }
+
+    /**
+     * Returns the packed undo records, oldest first.
+     *
+     * @return a copy of the undo history
+     */
+    int[] getUndoHistory() {
+        return undoHistory.clone();
+    }
+
+    /**
+     * Writes the snapshot at the buffer's position and advances it by
+     * {@link #BYTES}.
+     *
+     * @param out the buffer to write to
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put(pits);
+        out.put((byte) stonesPerPit).put((byte) flags).put((byte) undosA).put((byte) undosB);
+        out.put((byte) undoHistory.length).put((byte) 0);
+        for (int i = 0; i < MAX_HISTORY; i++) {
+            out.putInt(i < undoHistory.length ? undoHistory[i] : 0);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(ByteBuffer)} at the
+     * buffer's position and advances it by {@link #BYTES}.
+     *
+     * @param in the buffer to read from
+     * @return the snapshot
+     * @throws IllegalArgumentException if the undo history length is invalid
+     */
+    public static GameSnapshot readFrom(ByteBuffer in) {
+        byte[] pits = new byte[BoardState.PIT_COUNT];
+        in.get(pits);
+        int stonesPerPit = in.get() & 0xFF;
+        int flags = in.get() & 0xFF;
+        int undosA = in.get() & 0xFF;
+        int undosB = in.get() & 0xFF;
+        int length = in.get() & 0xFF;
+        in.get();
+        if (length > MAX_HISTORY) {
+            throw new IllegalArgumentException("bad undo history length " + length);
+        }
+        int[] undoHistory = new int[length];
+        for (int i = 0; i < MAX_HISTORY; i++) {
+            int record = in.getInt();
+            if (i < length) undoHistory[i] = record;
+        }
+        return new GameSnapshot(pits, stonesPerPit, flags, undosA, undosB, undoHistory);
+    }
+}
@@ -0,0 +1,305 @@
+/**
+ * GameTimeline keeps the full move history of a Mancala game for analysis.
+ * It supports unlimited undo and redo, branching from any earlier position,
+ * and jumping straight to any ply of the current line.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.Arrays;
+
+/**
+ * The GameTimeline class stores every position reached in a game as a node
+ * of a move tree. Nodes live in growable primitive arrays: each one holds
+ * its children, the move that led to it, the side to move, and the board
+ * packed into two longs (seven pits of 8 bits each). Branches share every
+ * node before the point where they split, so trying a different move only
+ * adds the new positions.
+ * <p>
+ * The line being viewed is kept as an array of node indices by ply, so
+ * undo, redo, and {@link #seek(int)} are O(1) and restoring a board costs
+ * fourteen pit writes regardless of the length of the game. Each node also
+ * remembers the child that was last on the line, so going back into a
+ * branch follows the moves that were played there.
+ */
+public class GameTimeline {
+
+    private static final int NONE = -1;
+    private static final long SIDE_A = 1L << 63;
+
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[] lastChild = new int[64];
+    private byte[] move = new byte[64];
+    private long[] lowPits = new long[64];
+    private long[] highPits = new long[64];
+    private int nodeCount;
+
+    private int[] line = new int[64];
+    private int lineLength;
+    private int cursor;
+
+    /**
+     * Constructs an empty timeline. {@link #reset(BoardState, boolean)} must
+     * be called with the starting position before moves are recorded.
+     */
+    public GameTimeline() {
+    }
+
+    /**
+     * Discards all history and starts a new timeline at the given position.
+     *
+     * @param board   the starting board
+     * @param aToMove true if player A moves first
+     */
+    public void reset(BoardState board, boolean aToMove) {
+        nodeCount = 0;
+        int root = addNode(NONE, NONE, board, aToMove);
+        line[0] = root;
+        lineLength = 1;
+        cursor = 0;
+    }
+
+    /**
+     * Records a move played from the current position. If the same move was
+     * already played from here, the existing branch is followed instead of
+     * creating a new one; otherwise a new branch is started and any later
+     * plies of the old line become an alternative that can be selected again
+     * with {@link #selectBranch(int)}.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param after    the board after the move was applied
+     * @param aToMove  true if player A moves next
+     */
+    public void record(int startIdx, BoardState after, boolean aToMove) {
+        int node = line[cursor];
+        int child = findChild(node, startIdx);
+        if (child == NONE) {
+            child = addNode(node, startIdx, after, aToMove);
+        }
+        lastChild[node] = child;
+        if (cursor + 1 >= lineLength || line[cursor + 1] != child) {
+            lineLength = cursor + 1;
+            extendLine(child);
+        }
+        cursor++;
+    }
+
+    /**
+     * Follows an existing branch from the current position, making it the
+     * current line. The cursor moves onto the branch.
+     *
+     * @param startIdx the move that starts the branch
+     * @return true if the branch exists, false otherwise
+     */
+    public boolean selectBranch(int startIdx) {
+        int node = line[cursor];
+        int child = findChild(node, startIdx);
+        if (child == NONE) {
+            return false;
+        }
+        lastChild[node] = child;
+        lineLength = cursor + 1;
+        extendLine(child);
+        cursor++;
+        return true;
+    }
+
+    /**
+     * Returns the moves that have been played from the current position,
+     * across every branch.
+     *
+     * @return the start pit of each branch, in the order they were first played
+     */
+    public int[] getBranches() {
+        int node = line[cursor];
+        int count = 0;
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) count++;
+        int[] moves = new int[count];
+        int i = count;
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            moves[--i] = move[c];
+        }
+        return moves;
+    }
+
+    /**
+     * Checks whether there is an earlier position on the current line.
+     *
+     * @return true if undo is possible
+     */
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * Checks whether there is a later position on the current line.
+     *
+     * @return true if redo is possible
+     */
+    public boolean canRedo() {
+        return cursor + 1 < lineLength;
+    }
+
+    /**
+     * Moves the cursor back one ply.
+     *
+     * @return true if the cursor moved, false if it was already at the start
+     */
+    public boolean undo() {
+        return seek(cursor - 1);
+    }
+
+    /**
+     * Moves the cursor forward one ply along the current line.
+     *
+     * @return true if the cursor moved, false if it was already at the end
+     */
+    public boolean redo() {
+        return seek(cursor + 1);
+    }
+
+    /**
+     * Moves the cursor to the given ply of the current line.
+     *
+     * @param ply the ply to jump to, where 0 is the starting position
+     * @return true if the cursor moved, false if the ply is out of range
+     */
+    public boolean seek(int ply) {
+        if (ply < 0 || ply >= lineLength) {
+            return false;
+        }
+        cursor = ply;
+        return true;
+    }
+
+    /**
+     * Writes the position at the cursor into the given board. Only pits
+     * whose counts differ are written.
+     *
+     * @param target the board to overwrite
+     * @return true if player A is to move in that position
+     */
+    public boolean restore(BoardState target) {
+        int node = line[cursor];
+        long low = lowPits[node];
+        long high = highPits[node];
+        for (int i = 0; i < 7; i++) {
+            int stonesLow = (int) (low >>> (i * 8)) & 0xFF;
+            int stonesHigh = (int) (high >>> (i * 8)) & 0xFF;
+            if (target.getStones(i) != stonesLow) target.setStones(i, stonesLow);
+            if (target.getStones(i + 7) != stonesHigh) target.setStones(i + 7, stonesHigh);
+        }
+        return (high & SIDE_A) != 0;
+    }
+
+    /**
+     * Returns the ply of the cursor on the current line.
+     *
+     * @return the current ply, where 0 is the starting position
+     */
+    public int getPly() {
+        return cursor;
+    }
+
+    /**
+     * Returns the number of positions on the current line, including the start.
+     *
+     * @return the line length
+     */
+    public int getLength() {
+        return lineLength;
+    }
+
+    /**
+     * Returns the move that led to the given ply of the current line.
+     *
+     * @param ply the ply, from 1 to {@link #getLength()} - 1
+     * @return the start pit of the move
+     * @throws IndexOutOfBoundsException if the ply is not on the line
+     */
+    public int getMove(int ply) {
+        if (ply < 1 || ply >= lineLength) {
+            throw new IndexOutOfBoundsException("ply " + ply + " is not on the line");
+        }
+        return move[line[ply]];
+    }
+
+    /**
+     * Returns the number of positions stored across every branch.
+     *
+     * @return the node count of the move tree
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Finds the child of a node reached by the given move.
+     *
+     * @param node     the parent node
+     * @param startIdx the move
+     * @return the child node, or -1 if the move has not been played from there
+     */
+    private int findChild(int node, int startIdx) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (move[c] == startIdx) return c;
+        }
+        return NONE;
+    }
+
+    /**
+     * Appends a node and then its remembered continuation to the current line.
+     *
+     * @param node the node to append after the current end of the line
+     */
+    private void extendLine(int node) {
+        for (int n = node; n != NONE; n = lastChild[n]) {
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, lineLength * 2);
+            }
+            line[lineLength++] = n;
+        }
+    }
+
+    /**
+     * Adds a node to the move tree, growing the arrays if needed.
+     *
+     * @param parentNode the parent node, or -1 for the root
+     * @param startIdx   the move that led here, or -1 for the root
+     * @param board      the board at this node
+     * @param aToMove    true if player A is to move at this node
+     * @return the index of the new node
+     */
+    private int addNode(int parentNode, int startIdx, BoardState board, boolean aToMove) {
+        if (nodeCount == move.length) {
+            int capacity = nodeCount * 2;
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            move = Arrays.copyOf(move, capacity);
+            lowPits = Arrays.copyOf(lowPits, capacity);
+            highPits = Arrays.copyOf(highPits, capacity);
+        }
+        long low = 0;
+        long high = aToMove ? SIDE_A : 0;
+        for (int i = 0; i < 7; i++) {
+            low |= (long) board.getStones(i) << (i * 8);
+            high |= (long) board.getStones(i + 7) << (i * 8);
+        }
+        int node = nodeCount++;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        move[node] = (byte) startIdx;
+        lowPits[node] = low;
+        highPits[node] = high;
+        if (parentNode == NONE) {
+            nextSibling[node] = NONE;
+        } else {
+            nextSibling[node] = firstChild[parentNode];
+            firstChild[parentNode] = node;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * JournalListener records the moves of one Mancala game in a GameJournal.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The JournalListener class subscribes to a {@link MancalaModel} and
+ * appends a record to a {@link GameJournal} for every change that
+ * {@link GameJournal#recover(java.nio.file.Path)} needs to rebuild the
+ * game: a reset, a move, an undo, and a switch of turns. Recording only
+ * copies 16 bytes into the journal's buffer, so a game loop is not slowed
+ * by the disk; a caller that must know a move is durable before it goes
+ * on, such as a server before replying, waits on the sequence number from
+ * {@link #getLastSequence()}.
+ * <p>
+ * Every few moves the listener also appends a {@link GameSnapshot} of the
+ * game, so recovery and compaction replay at most that many moves of it.
+ * Taking the snapshot copies a few dozen bytes on the game's thread; it is
+ * encoded and written by the journal's flusher.
+ * <p>
+ * A jump along the analysis timeline, which includes an undo when the
+ * model keeps a timeline, is not a move or an undo the journal could
+ * replay, so it is recorded as a snapshot of the position jumped to.
+ */
+public class JournalListener implements MancalaListener {
+
+    /** The default number of moves between snapshots. */
+    public static final int DEFAULT_SNAPSHOT_MOVES = 32;
+
+    private final GameJournal journal;
+    private final int gameId;
+    private final MancalaModel model;
+    private final int snapshotMoves;
+    private int movesSinceSnapshot;
+    private long lastSequence = -1;
+
+    /**
+     * Constructs a listener that records a game under the given id. Add it
+     * to the model before {@link MancalaModel#initialize()} so the journal
+     * holds the start of the game.
+     *
+     * @param journal the journal to append to
+     * @param gameId  the id of the game in the journal
+     * @param model   the game to record and snapshot
+     */
+    public JournalListener(GameJournal journal, int gameId, MancalaModel model) {
+        this(journal, gameId, model, DEFAULT_SNAPSHOT_MOVES);
+    }
+
+    /**
+     * Constructs a listener that records a game under the given id and
+     * snapshots it every given number of moves.
+     *
+     * @param journal       the journal to append to
+     * @param gameId        the id of the game in the journal
+     * @param model         the game to record and snapshot
+     * @param snapshotMoves the moves between snapshots, or 0 for none
+     */
+    public JournalListener(GameJournal journal, int gameId, MancalaModel model, int snapshotMoves) {
+        this.journal = journal;
+        this.gameId = gameId;
+        this.model = model;
+        this.snapshotMoves = snapshotMoves;
+    }
+
+    /**
+     * Returns the sequence number of the last record appended for this game.
+     *
+     * @return a value for {@link GameJournal#awaitDurable(long)}, or -1 if
+     *         nothing was recorded
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Records that the game was ended, so recovery drops it.
+     */
+    public void gameEnded() {
+        append(GameJournal.END, 0);
+    }
+
+    /**
+     * Records a move, followed by a snapshot if it is due.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param freeTurn true if the move earned the mover a free turn
+     */
+    @Override
+    public void moveApplied(int startIdx, boolean freeTurn) {
+        append(GameJournal.MOVE, startIdx);
+        if (snapshotMoves > 0 && ++movesSinceSnapshot >= snapshotMoves) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Records an undo.
+     */
+    @Override
+    public void undoApplied() {
+        append(GameJournal.UNDO, 0);
+    }
+
+    /**
+     * Records a switch of turns.
+     *
+     * @param next the player whose turn it now is
+     */
+    @Override
+    public void turnSwitched(Player next) {
+        append(GameJournal.SWITCH, 0);
+    }
+
+    /**
+     * Records a jump along the model's timeline as a snapshot, so recovery
+     * applies the moves that follow to the position jumped to. This is done
+     * even if periodic snapshots are off.
+     *
+     * @param ply the ply that is now shown
+     */
+    @Override
+    public void timelineMoved(int ply) {
+        snapshot();
+    }
+
+    /**
+     * Records the start of a new game with the model's stones per pit.
+     */
+    @Override
+    public void boardReset() {
+        append(GameJournal.NEW, model.getStonesPerPit());
+    }
+
+    /**
+     * Appends a snapshot of the game and restarts the count of moves until
+     * the next one.
+     *
+     * @throws UncheckedIOException if the journal has failed or is closed
+     */
+    private void snapshot() {
+        movesSinceSnapshot = 0;
+        try {
+            journal.appendSnapshot(gameId, model.snapshot());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a record for this game.
+     *
+     * @param type the record type
+     * @param arg  the record argument
+     * @throws UncheckedIOException if the journal has failed or is closed
+     */
+    private void append(int type, int arg) {
+        try {
+            lastSequence = journal.append(gameId, type, arg);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
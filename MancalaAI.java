@@ -0,0 +1,383 @@
+/**
+ * MancalaAI is a computer player for the Mancala game.
+ * It chooses moves with an alpha-beta search over copies of the board,
+ * deepening one ply at a time until its time budget runs out.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * The MancalaAI class searches the game tree using the same sowing, capture,
+ * and free-turn rules as {@link MancalaModel#makeMove(int)}, all of which are
+ * applied through {@link BoardState}. Boards for every ply are allocated once
+ * up front, so a search never touches Pit objects or the view and creates no
+ * garbage while it runs. Scores are the mover's mancala lead in stones.
+ * Results are cached in a {@link TranspositionTable} keyed by Zobrist hash,
+ * and the best move stored there is searched first.
+ */
+public class MancalaAI {
+
+    private static final int MAX_PLY = 128;
+    private static final int INFINITY = 10000;
+    private static final int TIME_CHECK_MASK = 1023;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+    // a forced move is searched only this deep, to give it a score
+    private static final int FORCED_MOVE_DEPTH = 8;
+
+    private final BoardState[] stack = new BoardState[MAX_PLY + 1];
+    private final int[][] order = new int[MAX_PLY + 1][6];
+    private final TranspositionTable table;
+    private EndgameTable endgame;
+    private long nodes;
+    private long elapsedNanos;
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+    private boolean depthLimited;
+    private int depthReached;
+    private int bestScore;
+
+    /**
+     * Constructs a computer player with its own transposition table.
+     */
+    public MancalaAI() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * Constructs a computer player that caches results in the given table
+     * and preallocates its search boards.
+     *
+     * @param table the transposition table to use
+     */
+    public MancalaAI(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i < stack.length; i++) {
+            stack[i] = new BoardState();
+        }
+    }
+
+    /**
+     * Returns the transposition table used by this player.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Sets the endgame table used to score positions with few stones left
+     * exactly, without searching them.
+     *
+     * @param endgame the endgame table, or null to search every position
+     */
+    public void setEndgameTable(EndgameTable endgame) {
+        this.endgame = endgame;
+    }
+
+    /**
+     * Chooses a move for the given side within the given time budget.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    public int chooseMove(BoardState position, boolean playerA, long timeMillis) {
+        return chooseMove(position, playerA, MAX_PLY, timeMillis);
+    }
+
+    /**
+     * Chooses a move for the given side, searching one ply deeper on each
+     * iteration until the maximum depth or the time budget is reached. The
+     * result of the deepest fully searched iteration is returned.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param maxDepth   the deepest iteration to search, in plies
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    public int chooseMove(BoardState position, boolean playerA, int maxDepth, long timeMillis) {
+        table.newSearch();
+        stopRequested = false;
+        return iterate(position, playerA, 1, 0, maxDepth, timeMillis);
+    }
+
+    /**
+     * Runs the iterative deepening loop. {@link ParallelSearch} calls this on
+     * several players that share one table, giving each a different starting
+     * depth and root move order so their searches spread over the tree.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param startDepth the depth of the first iteration
+     * @param rotation   how many places to rotate the initial root move order
+     * @param maxDepth   the deepest iteration to search, in plies
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    int iterate(BoardState position, boolean playerA, int startDepth, int rotation,
+            int maxDepth, long timeMillis) {
+        long start = System.nanoTime();
+        deadline = start + timeMillis * 1_000_000L;
+        stopped = false;
+        nodes = 0;
+        depthReached = 0;
+        bestScore = 0;
+        stack[0].copyFrom(position);
+
+        int[] moves = new int[6];
+        int count = 0;
+        int from = playerA ? 0 : 7;
+        for (int i = from; i < from + 6; i++) {
+            if (position.getStones(i) > 0) moves[count++] = i;
+        }
+        if (count == 0 || position.isGameOver()) {
+            elapsedNanos = System.nanoTime() - start;
+            return -1;
+        }
+        for (int r = 0; r < rotation % count; r++) {
+            int first = moves[0];
+            System.arraycopy(moves, 1, moves, 0, count - 1);
+            moves[count - 1] = first;
+        }
+
+        int bestMove = moves[0];
+        int limit = Math.min(maxDepth, count == 1 ? FORCED_MOVE_DEPTH : MAX_PLY);
+        for (int depth = Math.min(startDepth, limit); depth <= limit; depth++) {
+            int alpha = -INFINITY;
+            int iterationMove = -1;
+            depthLimited = false;
+            for (int m = 0; m < count; m++) {
+                int score = searchMove(0, playerA, moves[m], depth, alpha, INFINITY);
+                if (stopped) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationMove = m;
+                }
+            }
+            if (stopped) break;
+
+            // search the best move of this iteration first on the next one
+            int best = moves[iterationMove];
+            System.arraycopy(moves, 0, moves, 1, iterationMove);
+            moves[0] = best;
+            bestMove = best;
+            bestScore = alpha;
+            depthReached = depth;
+            if (!depthLimited) break; // every line reached the end of the game
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    /**
+     * Applies one move to a copy of the board at the given ply and searches
+     * the resulting position.
+     *
+     * @param ply     the ply of the board the move is made from
+     * @param playerA true if player A is moving
+     * @param idx     the index of the pit to sow from
+     * @param depth   the remaining depth, including this move
+     * @param alpha   the lower bound of the search window
+     * @param beta    the upper bound of the search window
+     * @return the score of the move from the mover's point of view
+     */
+    private int searchMove(int ply, boolean playerA, int idx, int depth, int alpha, int beta) {
+        BoardState child = stack[ply + 1];
+        child.copyFrom(stack[ply]);
+        boolean freeTurn = child.move(playerA, idx);
+        if (freeTurn) {
+            return search(ply + 1, playerA, depth - 1, alpha, beta);
+        }
+        return -search(ply + 1, !playerA, depth - 1, -beta, -alpha);
+    }
+
+    /**
+     * Searches the board at the given ply with alpha-beta pruning.
+     *
+     * @param ply     the ply of the board to search
+     * @param playerA true if player A is to move
+     * @param depth   the remaining depth in plies
+     * @param alpha   the lower bound of the search window
+     * @param beta    the upper bound of the search window
+     * @return the score of the position from the side to move's point of view
+     */
+    private int search(int ply, boolean playerA, int depth, int alpha, int beta) {
+        nodes++;
+        if ((nodes & TIME_CHECK_MASK) == 0 && (stopRequested || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+
+        BoardState board = stack[ply];
+        if (board.isGameOver()) {
+            return board.getScore(playerA) + board.sideStones(playerA)
+                - board.getScore(!playerA) - board.sideStones(!playerA);
+        }
+        if (endgame != null) {
+            int future = endgame.value(board, playerA);
+            if (future != EndgameTable.NOT_COVERED) {
+                return board.getScore(playerA) - board.getScore(!playerA) + future;
+            }
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            depthLimited = true;
+            return board.getScore(playerA) - board.getScore(!playerA);
+        }
+
+        long key = Zobrist.positionKey(board.getHash(), playerA);
+        long entry = table.probe(key);
+        int ttMove = -1;
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            boolean complete = TranspositionTable.isComplete(entry);
+            if (complete || TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    if (!complete) depthLimited = true;
+                    return score;
+                }
+            }
+        }
+
+        int count = orderMoves(board, playerA, ttMove, order[ply]);
+        boolean limitedAbove = depthLimited;
+        depthLimited = false;
+        int alphaStart = alpha;
+        int bestMove = -1;
+        for (int m = 0; m < count; m++) {
+            int score = searchMove(ply, playerA, order[ply][m], depth, alpha, beta);
+            if (stopped) return 0;
+            if (score > alpha) {
+                alpha = score;
+                bestMove = order[ply][m];
+                if (alpha >= beta) break;
+            }
+        }
+
+        int bound = alpha >= beta ? TranspositionTable.LOWER
+            : alpha > alphaStart ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, depth, bound, alpha, bestMove >= 0 ? bestMove : ttMove, !depthLimited);
+        depthLimited |= limitedAbove;
+        return alpha;
+    }
+
+    /**
+     * Fills the given array with the legal moves of a side in search order:
+     * the stored best move first, then moves that end in the mover's own
+     * mancala, then the rest.
+     *
+     * @param board   the board to generate moves for
+     * @param playerA true if player A is to move
+     * @param ttMove  the best move from the transposition table, or -1
+     * @param moves   the array to fill
+     * @return the number of legal moves written
+     */
+    private static int orderMoves(BoardState board, boolean playerA, int ttMove, int[] moves) {
+        int count = 0;
+        if (ttMove >= 0 && board.isLegalMove(playerA, ttMove)) {
+            moves[count++] = ttMove;
+        }
+        int from = playerA ? 0 : 7;
+        int mancala = BoardState.mancalaIndex(playerA);
+        for (int i = from; i < from + 6; i++) {
+            if (i != ttMove && board.getStones(i) == mancala - i) moves[count++] = i;
+        }
+        for (int i = from; i < from + 6; i++) {
+            int stones = board.getStones(i);
+            if (i != ttMove && stones > 0 && stones != mancala - i) moves[count++] = i;
+        }
+        return count;
+    }
+
+    /**
+     * Asks a search running on another thread to stop at its next time check.
+     * The result of its deepest finished iteration is still returned.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Clears an earlier stop request before the next search is started.
+     */
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    /**
+     * Returns whether the most recent search ended because it ran out of time
+     * or was asked to stop, rather than finishing its deepest iteration.
+     *
+     * @return true if the last iteration was cut short
+     */
+    public boolean wasStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns the time taken by the most recent search.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of positions visited by the most recent search.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the search speed of the most recent search.
+     *
+     * @return the number of positions visited per second
+     */
+    public long getNodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns the deepest iteration completed by the most recent search.
+     *
+     * @return the completed depth in plies
+     */
+    public int getDepthReached() {
+        return depthReached;
+    }
+
+    /**
+     * Returns the score of the chosen move from the mover's point of view.
+     * A forced move is searched to a shallow depth only, so its score is
+     * as good as that depth allows.
+     *
+     * @return the expected mancala lead in stones, or 0 if no iteration
+     *         completed, in which case {@link #getDepthReached()} is 0 too
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Returns a one-line summary of the most recent search.
+     *
+     * @return the depth, score, node count, and speed of the last search
+     */
+    public String getSearchSummary() {
+        return String.format("depth %d, score %+d, %,d nodes, %,d nodes/s, table hit rate %.1f%%",
+            depthReached, bestScore, nodes, getNodesPerSecond(), table.getHitRate() * 100);
+    }
+}
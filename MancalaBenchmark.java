@@ -0,0 +1,826 @@
+/**
+ * MancalaBenchmark runs headless performance measurements for the Mancala game.
+ * Each mode exercises one part of the engine and prints its results.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The MancalaBenchmark class is a command-line entry point for measuring
+ * the engine without the GUI. The first argument selects the mode:
+ * <ul>
+ *   <li>{@code search [depth] [maxThreads]} - time-to-depth of the parallel
+ *       search on a fixed suite of positions, for 1, 2, 4, ... threads</li>
+ *   <li>{@code mcts [millis] [threads]} - playouts per second of the MCTS
+ *       player and its results against the alpha-beta player</li>
+ *   <li>{@code endgame [fromStones] [toStones]} - build time, file size, and
+ *       lookup latency of endgame tables for each N in the range</li>
+ *   <li>{@code render [frames]} - paint time of a full board frame (cached
+ *       layer plus stone sprites) drawn offscreen, for both designs</li>
+ *   <li>{@code offscreen [frames] [maxThreads]} - frames per second of the
+ *       headless renderer on positions from random games at 1500 x 800, for
+ *       1, 2, 4, ... threads, and of PNG export</li>
+ *   <li>{@code server [games] [connections] [seconds]} - a game server on a
+ *       local port driven by the load generator, with moves per second and
+ *       move latency percentiles</li>
+ *   <li>{@code actors [games] [maxThreads] [commandsPerGame]} - commands per
+ *       second of games confined to GameActors on a shared pool, sent from
+ *       several threads at once, for 1, 2, 4, ... pool threads, with a check
+ *       that no command was lost or applied out of order</li>
+ *   <li>{@code journal [games] [writers]} - append cost of the game journal,
+ *       fsync latency of group commits from several writer threads, and
+ *       games per second rebuilt by crash recovery, checked against the
+ *       boards the games ended on; then recovery time of long sessions with
+ *       and without snapshot compaction</li>
+ *   <li>{@code archive [games] [maxThreads]} - games per second exported to
+ *       the columnar game archive and scanned for win rate by first move,
+ *       free turns, and captures by pit, for 1, 2, 4, ... threads</li>
+ *   <li>{@code tournament [gamesPerPair] [threads]} - a round robin between
+ *       the built-in strategies with Elo estimates and games per second</li>
+ * </ul>
+ */
+public class MancalaBenchmark {
+
+    private static final int[][] OPENINGS = {
+        {}, {2}, {2, 3}, {5, 8}, {0, 12}
+    };
+
+    /**
+     * Entry point for the benchmarks.
+     *
+     * @param args the mode followed by its options
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "search";
+        switch (mode) {
+            case "search":
+                searchBenchmark(intArg(args, 1, 16), intArg(args, 2, Runtime.getRuntime().availableProcessors()));
+                break;
+            case "mcts":
+                mctsBenchmark(intArg(args, 1, 200), intArg(args, 2, Runtime.getRuntime().availableProcessors()));
+                break;
+            case "endgame":
+                endgameBenchmark(intArg(args, 1, 10), intArg(args, 2, 14));
+                break;
+            case "render":
+                renderBenchmark(intArg(args, 1, 2000));
+                break;
+            case "offscreen":
+                offscreenBenchmark(intArg(args, 1, 20000), intArg(args, 2, Runtime.getRuntime().availableProcessors()));
+                break;
+            case "server":
+                serverBenchmark(intArg(args, 1, 50000), intArg(args, 2, 16), intArg(args, 3, 10));
+                break;
+            case "actors":
+                actorBenchmark(intArg(args, 1, 10000), intArg(args, 2, Runtime.getRuntime().availableProcessors()),
+                    intArg(args, 3, 200));
+                break;
+            case "journal":
+                journalBenchmark(intArg(args, 1, 100000), intArg(args, 2, 8));
+                break;
+            case "archive":
+                archiveBenchmark(intArg(args, 1, 1_000_000), intArg(args, 2, Runtime.getRuntime().availableProcessors()));
+                break;
+            case "tournament":
+                tournamentBenchmark(intArg(args, 1, 10000), intArg(args, 2, Runtime.getRuntime().availableProcessors()));
+                break;
+            default:
+                System.out.println("Unknown mode: " + mode);
+        }
+    }
+
+    /**
+     * Measures the time the parallel search needs to reach a fixed depth on
+     * every position of the suite, starting from initialize() with 3 and 4
+     * stones per pit, and reports the speedup over one thread.
+     *
+     * @param depth      the depth every search must complete
+     * @param maxThreads the largest thread count to measure
+     */
+    private static void searchBenchmark(int depth, int maxThreads) {
+        ArrayList<BoardState> positions = new ArrayList<>();
+        ArrayList<Boolean> sides = new ArrayList<>();
+        for (int stones = 3; stones <= 4; stones++) {
+            for (int[] opening : OPENINGS) {
+                MancalaModel model = new MancalaModel();
+                model.setStonesPerPit(stones);
+                model.initialize();
+                BoardState board = model.getBoardState().copy();
+                boolean playerA = true;
+                for (int move : opening) {
+                    if (!board.isLegalMove(playerA, move)) break;
+                    if (!board.move(playerA, move)) playerA = !playerA;
+                }
+                positions.add(board);
+                sides.add(playerA);
+            }
+        }
+
+        System.out.printf("Time to depth %d on %d positions%n", depth, positions.size());
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ParallelSearch search = new ParallelSearch(threads, 64);
+            long totalNanos = 0;
+            long totalNodes = 0;
+            for (int i = 0; i < positions.size(); i++) {
+                search.getTable().clear();
+                search.chooseMove(positions.get(i), sides.get(i), depth, Long.MAX_VALUE / 2_000_000L);
+                totalNanos += search.getElapsedNanos();
+                totalNodes += search.getNodes();
+            }
+            double seconds = totalNanos / 1e9;
+            if (threads == 1) baseline = seconds;
+            System.out.printf("%2d threads: %8.3f s, speedup %5.2fx, %,d nodes/s, table hit rate %.1f%%%n",
+                threads, seconds, baseline / seconds, (long) (totalNodes / seconds),
+                search.getTable().getHitRate() * 100);
+            search.shutdown();
+        }
+    }
+
+    /**
+     * Measures the playout speed of the MCTS player for several exploration
+     * constants and plays it against the alpha-beta player from both sides.
+     *
+     * @param millis  the time budget per move
+     * @param threads the number of MCTS threads
+     */
+    private static void mctsBenchmark(int millis, int threads) {
+        double[] constants = {0.7, MctsPlayer.DEFAULT_EXPLORATION, 2.0};
+        MancalaAI alphaBeta = new MancalaAI();
+        for (double c : constants) {
+            MctsPlayer mcts = new MctsPlayer(threads, 1 << 18);
+            mcts.setExploration(c);
+            int mctsWins = 0;
+            int ties = 0;
+            long playouts = 0;
+            long nanos = 0;
+            for (int game = 0; game < 4; game++) {
+                BoardState board = new BoardState();
+                board.fill(game < 2 ? 3 : 4);
+                boolean mctsIsA = game % 2 == 0;
+                boolean playerA = true;
+                while (!board.isGameOver()) {
+                    int move;
+                    if (playerA == mctsIsA) {
+                        long start = System.nanoTime();
+                        move = mcts.chooseMove(board, playerA, millis);
+                        nanos += System.nanoTime() - start;
+                        playouts += mcts.getPlayouts();
+                    } else {
+                        move = alphaBeta.chooseMove(board, playerA, 6, millis);
+                    }
+                    if (!board.move(playerA, move)) playerA = !playerA;
+                }
+                board.sweep();
+                int diff = board.getScore(mctsIsA) - board.getScore(!mctsIsA);
+                if (diff > 0) mctsWins++;
+                else if (diff == 0) ties++;
+            }
+            System.out.printf("exploration %.2f: %,d playouts/s, vs depth-6 alpha-beta %d wins %d ties %d losses%n",
+                c, (long) (playouts / (nanos / 1e9)), mctsWins, ties, 4 - mctsWins - ties);
+            mcts.shutdown();
+        }
+    }
+
+    /**
+     * Builds an endgame table for every N in the range into a temporary file,
+     * then memory-maps it and times random lookups.
+     *
+     * @param from the smallest N to build
+     * @param to   the largest N to build
+     */
+    private static void endgameBenchmark(int from, int to) {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = from; n <= to; n++) {
+            try {
+                Path file = Files.createTempFile("mancala-endgame-" + n + "-", ".bin");
+                long start = System.nanoTime();
+                EndgameTable.generate(n, file);
+                double buildSeconds = (System.nanoTime() - start) / 1e9;
+                EndgameTable table = EndgameTable.open(file);
+
+                BoardState[] boards = new BoardState[4096];
+                for (int i = 0; i < boards.length; i++) {
+                    boards[i] = new BoardState();
+                    int stones = random.nextInt(n + 1);
+                    for (int s = 0; s < stones; s++) {
+                        int pit = random.nextInt(12);
+                        pit = pit < 6 ? pit : pit + 1;
+                        boards[i].setStones(pit, boards[i].getStones(pit) + 1);
+                    }
+                }
+                int lookups = 2_000_000;
+                long sum = 0;
+                start = System.nanoTime();
+                for (int i = 0; i < lookups; i++) {
+                    sum += table.value(boards[i & (boards.length - 1)], (i & 1) == 0);
+                }
+                double lookupNanos = (double) (System.nanoTime() - start) / lookups;
+                System.out.printf("N=%2d: %,14d positions, build %8.2f s, file %,14d bytes, lookup %6.1f ns (checksum %d)%n",
+                    n, EndgameTable.positionCount(n), buildSeconds, Files.size(file), lookupNanos, sum);
+                Files.delete(file);
+            } catch (IOException e) {
+                System.out.println("N=" + n + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Paints full board frames into an offscreen image the way the board
+     * panel does, with a mid-game position, and reports the frame times.
+     *
+     * @param frames the number of frames to paint for each design
+     */
+    private static void renderBenchmark(int frames) {
+        MancalaModel model = new MancalaModel();
+        model.setStonesPerPit(4);
+        model.initialize();
+        model.makeMove(2);
+        model.switchTurn();
+        model.getCurrentPlayer().didPlayerMove(false);
+        model.makeMove(9);
+        BoardDesign[] designs = {new BoardRegular(model), new BoardHexagon(model)};
+        for (BoardDesign design : designs) {
+            BufferedImage frame = new BufferedImage(1500, 700, BufferedImage.TYPE_INT_RGB);
+            BoardLayout layout = new BoardLayout(frame.getWidth(), frame.getHeight(), 6);
+            BoardLayerCache layer = new BoardLayerCache();
+            StoneRenderer stones = new StoneRenderer(layout.getStoneSize(), layout.getStoneGap(), Color.BLACK);
+            int inset = layout.getStoneInset();
+            FrameTimer timer = new FrameTimer(frames);
+            for (int i = 0; i < frames; i++) {
+                Graphics2D g2 = frame.createGraphics();
+                timer.start();
+                layer.paint(g2, design, layout, Color.LIGHT_GRAY);
+                for (Pit pit : model.getPitList()) {
+                    stones.draw(g2, pit.getStones(), pit.getPitXCoordinate() + inset, pit.getPitYCoordinate() + inset);
+                }
+                timer.stop();
+                g2.dispose();
+            }
+            System.out.printf("%-12s %s%n", design.getClass().getName(), timer.getSummary());
+        }
+    }
+
+    /**
+     * Renders the positions of random games with the headless renderer on
+     * 1, 2, 4, ... threads and reports frames per second, then times writing
+     * a short replay as PNG files.
+     *
+     * @param frames     the number of positions to render per run
+     * @param maxThreads the largest thread count to measure
+     */
+    private static void offscreenBenchmark(int frames, int maxThreads) {
+        ArrayList<BoardState> positions = new ArrayList<>(frames);
+        BoardState board = new BoardState();
+        boolean playerA = true;
+        while (positions.size() < frames) {
+            if (board.isGameOver()) {
+                board.fill(4);
+                playerA = true;
+            }
+            int move = MancalaStrategy.randomMove(board, playerA);
+            if (!board.move(playerA, move)) playerA = !playerA;
+            positions.add(board.copy());
+        }
+
+        MancalaModel model = new MancalaModel();
+        model.setStonesPerPit(4);
+        model.initialize();
+        LongAdder checksum = new LongAdder();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            OffscreenRenderer renderer = new OffscreenRenderer(new BoardRegular(model), 1500, 800, Color.LIGHT_GRAY, threads);
+            try {
+                renderer.renderAll(positions.subList(0, Math.min(frames, 1000)), (index, frame) -> { });
+                long start = System.nanoTime();
+                renderer.renderAll(positions, (index, frame) -> checksum.add(frame.getRGB(index % 1500, 400)));
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("threads=%2d: %,8d frames in %6.3f s, %,10.0f frames/s%n",
+                    threads, frames, seconds, frames / seconds);
+
+                if (threads == 1) {
+                    Path directory = Files.createTempDirectory("mancala-frames-");
+                    List<BoardState> replay = positions.subList(0, Math.min(frames, 100));
+                    start = System.nanoTime();
+                    renderer.writePngs(replay, directory, "frame-");
+                    seconds = (System.nanoTime() - start) / 1e9;
+                    long bytes = 0;
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                        for (Path file : files) {
+                            bytes += Files.size(file);
+                            Files.delete(file);
+                        }
+                    }
+                    Files.delete(directory);
+                    System.out.printf("PNG export: %d frames in %.3f s, %.0f frames/s, %,d bytes per frame%n",
+                        replay.size(), seconds, replay.size() / seconds, bytes / replay.size());
+                }
+            } catch (IOException e) {
+                System.out.println("threads=" + threads + ": " + e.getMessage());
+            } finally {
+                renderer.shutdown();
+            }
+        }
+        System.out.println("checksum " + checksum.sum());
+    }
+
+    /**
+     * Starts a game server on a free local port, keeps the given number of
+     * games live on it with the load generator, and prints the results and
+     * the heap the games take.
+     *
+     * @param games       the number of concurrent games
+     * @param connections the number of client connections
+     * @param seconds     how long to play
+     */
+    private static void serverBenchmark(int games, int connections, int seconds) {
+        try (GameServer server = new GameServer(0)) {
+            server.start();
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            GameLoadClient client = new GameLoadClient("localhost", server.getPort(), games, connections, 64);
+            System.out.println(client.run(seconds));
+            System.out.printf("heap used by the run: %,d KB%n",
+                (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / 1024);
+        } catch (IOException e) {
+            System.out.println("server: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Plays many games through GameActors while four producer threads send
+     * them commands at the same time. Each command plays a random legal move,
+     * ends the turn, or restarts a finished game, and logs what it did. At
+     * the end every game must have applied every command sent to it, and
+     * replaying its log on a fresh model must give the same position.
+     *
+     * @param games           the number of games
+     * @param maxThreads      the largest pool size to measure
+     * @param commandsPerGame the commands sent to each game
+     */
+    private static void actorBenchmark(int games, int maxThreads, int commandsPerGame) {
+        actorRun(games, 1, commandsPerGame, false);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            actorRun(games, threads, commandsPerGame, true);
+        }
+    }
+
+    /**
+     * Runs the actor stress test once on a pool of the given size.
+     *
+     * @param games           the number of games
+     * @param threads         the pool size
+     * @param commandsPerGame the commands sent to each game
+     * @param report          false for a warm-up run that prints nothing
+     */
+    private static void actorRun(int games, int threads, int commandsPerGame, boolean report) {
+        int producers = 4;
+        int perProducer = commandsPerGame / producers;
+        int commands = perProducer * producers;
+        ForkJoinPool pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        GameActor[] actors = new GameActor[games];
+        int[] applied = new int[games];
+        int[][] logs = new int[games][commands];
+        for (int g = 0; g < games; g++) {
+            MancalaModel model = new MancalaModel();
+            model.setStonesPerPit(4);
+            model.initialize();
+            actors[g] = new GameActor(model, pool);
+        }
+
+        long start = System.nanoTime();
+        Thread[] senders = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            senders[p] = new Thread(() -> {
+                for (int round = 0; round < perProducer; round++) {
+                    for (int g = 0; g < games; g++) {
+                        int game = g;
+                        actors[g].tell(model -> logs[game][applied[game]++] = playOne(model));
+                    }
+                }
+            });
+            senders[p].start();
+        }
+        ArrayList<CompletableFuture<BoardState>> finals = new ArrayList<>();
+        try {
+            for (Thread sender : senders) {
+                sender.join();
+            }
+            for (GameActor actor : actors) {
+                finals.add(actor.ask(model -> model.getBoardState().copy()));
+            }
+            CompletableFuture.allOf(finals.toArray(new CompletableFuture<?>[0])).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int lost = 0;
+        int diverged = 0;
+        for (int g = 0; g < games; g++) {
+            if (applied[g] != commands) {
+                lost += commands - applied[g];
+                continue;
+            }
+            MancalaModel replay = new MancalaModel();
+            replay.setStonesPerPit(4);
+            replay.initialize();
+            for (int k = 0; k < commands; k++) {
+                replayOne(replay, logs[g][k]);
+            }
+            BoardState expected = finals.get(g).join();
+            for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+                if (replay.getBoardState().getStones(i) != expected.getStones(i)) {
+                    diverged++;
+                    break;
+                }
+            }
+        }
+        if (!report) {
+            return;
+        }
+        System.out.printf("threads=%2d: %,d commands to %,d games in %.3f s, %,.0f commands/s, %d lost, %d diverged%n",
+            threads, (long) commands * games, games, seconds, commands * (double) games / seconds, lost, diverged);
+    }
+
+    /**
+     * Advances a game by one step: restarts it if it is over, ends the turn
+     * if the player to move has moved, or plays a random legal move.
+     *
+     * @param model the game
+     * @return the pit played, -1 for a turn switch, or -2 for a restart
+     */
+    private static int playOne(MancalaModel model) {
+        if (model.isGameOver()) {
+            model.initialize();
+            return -2;
+        }
+        if (model.getCurrentPlayer().getPlayerMove()) {
+            model.switchTurn();
+            model.getCurrentPlayer().didPlayerMove(false);
+            return -1;
+        }
+        int pit = MancalaStrategy.randomMove(model.getBoardState(), model.getCurrentPlayer() == model.getPlayerA());
+        model.makeMove(pit);
+        return pit;
+    }
+
+    /**
+     * Repeats one logged step of {@link #playOne(MancalaModel)}.
+     *
+     * @param model the game
+     * @param step  the logged pit, -1 for a turn switch, or -2 for a restart
+     */
+    private static void replayOne(MancalaModel model, int step) {
+        if (step == -2) {
+            model.initialize();
+        } else if (step == -1) {
+            model.switchTurn();
+            model.getCurrentPlayer().didPlayerMove(false);
+        } else {
+            model.makeMove(step);
+        }
+    }
+
+    /**
+     * Measures the game journal in a temporary directory. A tight loop of
+     * appends gives the raw cost of a record; then games are played
+     * to the end with random moves, with and without a JournalListener, to
+     * give the cost of recording per record; then several writer threads
+     * append records and wait for each to be durable, to give the latency
+     * of a group commit; then the journal is recovered and every game's
+     * board is compared with the one it was left on. Finally long sessions
+     * are recovered with and without compaction.
+     *
+     * @param games   the number of games to record and recover
+     * @param writers the number of threads waiting for durable appends
+     */
+    private static void journalBenchmark(int games, int writers) {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("mancala-journal-");
+            byte[] finals = new byte[games * BoardState.PIT_COUNT];
+            long start = System.nanoTime();
+            for (int g = 0; g < games; g++) {
+                playToEnd(new MancalaModel(), finals, g);
+            }
+            double plain = (System.nanoTime() - start) / 1e9;
+
+            long records;
+            long flushes;
+            try (GameJournal journal = new GameJournal(directory)) {
+                int appends = 10_000_000;
+                start = System.nanoTime();
+                for (int i = 0; i < appends; i++) {
+                    journal.append(games + (i & 1023), GameJournal.END, 0);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("append: %,d records in %.3f s, %.0f ns per record, %,d fsyncs%n",
+                    appends, seconds, seconds * 1e9 / appends, journal.getFlushCount());
+
+                long flushesBefore = journal.getFlushCount();
+                long recordsBefore = journal.getRecordCount();
+                start = System.nanoTime();
+                for (int g = 0; g < games; g++) {
+                    MancalaModel model = new MancalaModel();
+                    model.addListener(new JournalListener(journal, g, model));
+                    playToEnd(model, finals, g);
+                }
+                double journaled = (System.nanoTime() - start) / 1e9;
+                records = journal.getRecordCount() - recordsBefore;
+                flushes = journal.getFlushCount() - flushesBefore;
+                System.out.printf("record: %,d games, %,d records in %.3f s (%.3f s without the journal), "
+                    + "%.0f ns per record, %,d fsyncs%n",
+                    games, records, journaled, plain, (journaled - plain) * 1e9 / records, flushes);
+
+                int perWriter = 2000;
+                long[] latencies = new long[writers * perWriter];
+                Thread[] threads = new Thread[writers];
+                flushesBefore = journal.getFlushCount();
+                start = System.nanoTime();
+                for (int w = 0; w < writers; w++) {
+                    int writer = w;
+                    threads[w] = new Thread(() -> {
+                        try {
+                            for (int i = 0; i < perWriter; i++) {
+                                long sent = System.nanoTime();
+                                journal.awaitDurable(journal.append(games + writer, GameJournal.END, 0));
+                                latencies[writer * perWriter + i] = System.nanoTime() - sent;
+                            }
+                        } catch (IOException e) {
+                            System.out.println("writer " + writer + ": " + e.getMessage());
+                        }
+                    });
+                    threads[w].start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                seconds = (System.nanoTime() - start) / 1e9;
+                long commits = journal.getFlushCount() - flushesBefore;
+                Arrays.sort(latencies);
+                System.out.printf("durable: %d writers, %,.0f appends/s, %,d fsyncs, %.1f records per fsync, "
+                    + "latency p50 %.0f us, p99 %.0f us%n",
+                    writers, latencies.length / seconds, commits, latencies.length / (double) Math.max(1, commits),
+                    latencies[latencies.length / 2] / 1000.0, latencies[latencies.length * 99 / 100] / 1000.0);
+            }
+
+            System.gc();
+            start = System.nanoTime();
+            long total = GameJournal.replay(directory, (game, type, arg) -> { });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("scan: %,d records in %.3f s, %,.0f records/s%n", total, seconds, total / seconds);
+
+            start = System.nanoTime();
+            Map<Integer, MancalaModel> recovered = GameJournal.recover(directory);
+            seconds = (System.nanoTime() - start) / 1e9;
+            int mismatched = games - recovered.size();
+            for (Map.Entry<Integer, MancalaModel> entry : recovered.entrySet()) {
+                BoardState board = entry.getValue().getBoardState();
+                for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+                    if (board.getStones(i) != finals[entry.getKey() * BoardState.PIT_COUNT + i]) {
+                        mismatched++;
+                        break;
+                    }
+                }
+            }
+            System.out.printf("recover: %,d games from %,d records in %.3f s, %,.0f games/s, %,.0f records/s, "
+                + "%d mismatched%n",
+                recovered.size(), total, seconds, games / seconds, total / seconds, mismatched);
+            deleteDirectory(directory);
+            directory = null;
+
+            compactionRun(0);
+            compactionRun(2);
+        } catch (IOException e) {
+            System.out.println("journal: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Keeps 10,000 game sessions going for 2,000 steps each in a journal of
+     * 1M-record segments, restarting each game when it ends, then recovers
+     * them. Without compaction, recovery reads every record ever written;
+     * with it, recovery reads a checkpoint and the newest segments. The
+     * steps over 1 ms show whether snapshots or compaction stalled the
+     * games; on few cores they also count garbage collections and time
+     * slices lost to the flusher.
+     *
+     * @param compactAfter the full segments kept before compacting, or 0
+     *                     for no compaction
+     * @throws IOException if the journal fails
+     */
+    private static void compactionRun(int compactAfter) throws IOException {
+        int sessions = 10_000;
+        int steps = 2_000;
+        Path directory = Files.createTempDirectory("mancala-compaction-");
+        try {
+            MancalaModel[] models = new MancalaModel[sessions];
+            long slowest = 0;
+            long slow = 0;
+            long compactions;
+            long start = System.nanoTime();
+            try (GameJournal journal = new GameJournal(directory, 1 << 20, 2)) {
+                journal.setCompactAfter(compactAfter);
+                for (int g = 0; g < sessions; g++) {
+                    models[g] = new MancalaModel();
+                    models[g].addListener(new JournalListener(journal, g, models[g]));
+                    models[g].setStonesPerPit(4);
+                    models[g].initialize();
+                }
+                for (int step = 0; step < steps; step++) {
+                    for (int g = 0; g < sessions; g++) {
+                        long before = System.nanoTime();
+                        playOne(models[g]);
+                        long nanos = System.nanoTime() - before;
+                        slowest = Math.max(slowest, nanos);
+                        if (nanos > 1_000_000) slow++;
+                    }
+                }
+                compactions = journal.getCompactionCount();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long bytes = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    bytes += Files.size(file);
+                }
+            }
+
+            start = System.nanoTime();
+            Map<Integer, MancalaModel> recovered = GameJournal.recover(directory);
+            double recovery = (System.nanoTime() - start) / 1e9;
+            int mismatched = sessions - recovered.size();
+            for (Map.Entry<Integer, MancalaModel> entry : recovered.entrySet()) {
+                BoardState expected = models[entry.getKey()].getBoardState();
+                for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+                    if (entry.getValue().getBoardState().getStones(i) != expected.getStones(i)) {
+                        mismatched++;
+                        break;
+                    }
+                }
+            }
+            System.out.printf("compact after %d: %,d steps in %.3f s, %,d steps over 1 ms, slowest %.1f ms, "
+                + "%d compactions, %,d bytes on disk, recover %.3f s, %d mismatched%n",
+                compactAfter, (long) sessions * steps, seconds, slow, slowest / 1e6, compactions, bytes,
+                recovery, mismatched);
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Deletes a directory of files, reporting rather than throwing on
+     * failure.
+     *
+     * @param directory the directory, or null to do nothing
+     */
+    private static void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            System.out.println("could not delete " + directory);
+        }
+    }
+
+    /**
+     * Starts a game with 4 stones per pit, plays random moves until it is
+     * over, and keeps the final board.
+     *
+     * @param model  a new game
+     * @param finals the boards of all games, {@link BoardState#PIT_COUNT}
+     *               counts per game
+     * @param game   the index of this game's board in finals
+     */
+    private static void playToEnd(MancalaModel model, byte[] finals, int game) {
+        model.setStonesPerPit(4);
+        model.initialize();
+        while (!model.isGameOver()) {
+            playOne(model);
+        }
+        for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+            finals[game * BoardState.PIT_COUNT + i] = (byte) model.getBoardState().getStones(i);
+        }
+    }
+
+    /**
+     * Plays games to the end with random moves, exports them through
+     * ArchiveExporters into an archive in a temporary directory, and then
+     * scans the archive with more and more threads. The scan must count
+     * every game, agree with the number of games player A won, and find
+     * every game's last pit counts equal to its scores.
+     *
+     * @param games      the number of games to archive
+     * @param maxThreads the largest thread count to scan with
+     */
+    private static void archiveBenchmark(int games, int maxThreads) {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("mancala-archive-");
+            byte[] finals = new byte[BoardState.PIT_COUNT];
+            long aWins = 0;
+            long start = System.nanoTime();
+            try (GameArchive archive = new GameArchive(directory)) {
+                MancalaModel model = new MancalaModel();
+                model.addListener(new ArchiveExporter(archive, model));
+                for (int g = 0; g < games; g++) {
+                    playToEnd(model, finals, 0);
+                    if (finals[BoardState.MANCALA_A] > finals[BoardState.MANCALA_B]) aWins++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long bytes = 0;
+            int segments = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    bytes += Files.size(file);
+                    segments++;
+                }
+            }
+            System.out.printf("export: %,d games in %.3f s, %,.0f games/s, %d segments, %,d bytes%n",
+                games, seconds, games / seconds, segments, bytes);
+
+            ArchiveStats stats = GameArchive.scan(directory, 1);
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                start = System.nanoTime();
+                stats = GameArchive.scan(directory, threads);
+                seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("threads=%2d: scanned %,d games in %.3f s, %,.0f games/s%n",
+                    threads, stats.getGames(), seconds, stats.getGames() / seconds);
+            }
+            long scannedWins = 0;
+            for (int pit = 0; pit < BoardState.PIT_COUNT; pit++) {
+                scannedWins += Math.round(stats.getWinRate(pit) * stats.getGames(pit));
+            }
+            System.out.print(stats.getReport());
+            System.out.printf("check: %,d games (expected %,d), %,d A wins (expected %,d), %d inconsistent%n",
+                stats.getGames(), games, scannedWins, aWins, stats.getInconsistent());
+        } catch (IOException e) {
+            System.out.println("archive: " + e.getMessage());
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Plays a round robin between the random, greedy, and alpha-beta
+     * strategies and prints the results table.
+     *
+     * @param gamesPerPair the number of games each pair plays
+     * @param threads      the number of games played at the same time
+     */
+    private static void tournamentBenchmark(int gamesPerPair, int threads) {
+        Tournament tournament = new Tournament(threads);
+        tournament.addPlayer("Random", MancalaStrategy::random);
+        tournament.addPlayer("Greedy", MancalaStrategy::greedy);
+        tournament.addPlayer("AlphaBeta-2", () -> MancalaStrategy.alphaBeta(2));
+        tournament.addPlayer("AlphaBeta-4", () -> MancalaStrategy.alphaBeta(4));
+        tournament.run(gamesPerPair);
+        System.out.print(tournament.getResultsTable());
+        tournament.shutdown();
+    }
+
+    /**
+     * Reads an optional integer argument.
+     *
+     * @param args     the command-line arguments
+     * @param index    the position of the argument
+     * @param fallback the value to use if the argument is missing
+     * @return the parsed argument, or the fallback
+     */
+    private static int intArg(String[] args, int index, int fallback) {
+        return args.length > index ? Integer.parseInt(args[index]) : fallback;
+    }
+}
@@ -2,7 +2,7 @@
  * MancalaController wires together the view and the model for the Mancala game.
  * It attaches action listeners to the buttons in the view and triggers updates
  * in the model and view based on user input (board selection, stone count,
- * starting the game, undo, and switching players).
+ * starting the game, undo, switching players, and computer moves).
  *
  * @author
  * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
@@ -14,6 +14,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.*;
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 
 /**
  * The MancalaController class listens for user interactions in the
@@ -23,6 +25,8 @@ public class MancalaController {
 
     private MancalaView view;
     private MancalaModel model;
+    private ParallelSearch computer = new ParallelSearch(Runtime.getRuntime().availableProcessors(), 16);
+    private static final long COMPUTER_MOVE_MILLIS = 500;
 
     /**
      * Constructs a MancalaController and registers all button listeners
@@ -35,6 +39,7 @@ public class MancalaController {
     public MancalaController(MancalaModel model, MancalaView view) {
         this.model = model;
         this.view = view;
+        computer.setEndgameTable(model.getEndgameTable());
 
         view.boardRegularButton.addActionListener(new ActionListener() {
             @Override
@@ -125,7 +130,7 @@ public class MancalaController {
 					 * postconditions:
 					 * - the players will move their stones counter clockwise to the pits.
 					 * - help notify that the game is over in case the game is done.
-					 * - It will update the game and the board appearance with updateView method.
+					 * - The view repaints itself from the model's events.
 					 * - If the game is over and players continue to click buttons and it will show
 					 * - a message that tells that the game is over by showing the winner and scores.
 					 * @param e - the mouse event triggered by clicking the board game with mousePressed() and activates it.
@@ -135,16 +140,9 @@ public class MancalaController {
                             view.visualErrorScreen(model.getGameResult());
                             return; // stop further processing
                         }
-                        Point mousePoint = e.getPoint();
-                        for (int i = 0; i < model.getPitList().size(); i++) {
-                            if (model.getPitList().get(i).containsPoint(mousePoint)) {
-                                try {
-                                    model.makeMove(i);
-                                } catch (IllegalArgumentException ex) {
-                                }
-                                view.updateView();
-                                break;
-                            }
+                        int pit = model.getBoardDesign().pitAt(e.getX(), e.getY());
+                        if (pit >= 0) {
+                            model.makeMove(pit);
                         }
                     }
                 });
@@ -155,14 +153,46 @@ public class MancalaController {
             @Override
 			/**
 			 * Handles the action event triggered when the Undo Turn button is clicked. 
-			 * It allows the current player to undo their turn 3 times.
+			 * It allows the current player to undo their turn 3 times, or steps back
+			 * one move along the timeline without a limit if the model keeps one.
 			 * It will activate the undo() method to ensure that the player can undo their turn.
-			 * It will update the game and the board appearance with updateView method.
+			 * The view repaints itself from the model's events.
 			 * @param e - the action event triggered by clicking the Undo Turn button and activates it.
 			 */
             public void actionPerformed(ActionEvent e) {
                 model.undo();
-                view.updateView();
+            }
+        });
+
+        view.redoButton.addActionListener(new ActionListener() {
+            @Override
+			/**
+			 * Handles the action event triggered when the Redo Turn button is clicked.
+			 * It replays the next move of the timeline after an undo or a jump back.
+			 * The view repaints itself from the model's events.
+			 * @param e - the action event triggered by clicking the Redo Turn button and activates it.
+			 */
+            public void actionPerformed(ActionEvent e) {
+                if (!model.redo()) {
+                    view.visualErrorScreen("No move to redo.");
+                }
+            }
+        });
+
+        view.timelineSlider.addChangeListener(new ChangeListener() {
+            @Override
+			/**
+			 * Handles a change of the timeline slider. When the user drags it, the
+			 * board jumps to the chosen move of the game. Changes the view makes to
+			 * follow the game already match the timeline and are ignored.
+			 * @param e - the change event of the slider.
+			 */
+            public void stateChanged(ChangeEvent e) {
+                GameTimeline timeline = model.getTimeline();
+                int ply = view.timelineSlider.getValue();
+                if (timeline != null && ply != timeline.getPly()) {
+                    model.seek(ply);
+                }
             }
         });
         
@@ -173,7 +203,7 @@ public class MancalaController {
 			 * This helps players to take turns to play the game.
 			 * It will make sure the players can switch turns when one of them is done.
 			 * It will help the next player to get ready for their turn.
-			 * It will update the game and the board appearance with updateView method.
+			 * The view repaints itself from the model's events.
 			 * preconditions:
 			 * - make sure to move one of the stone pits.
 			 * - choose the right stone pits.
@@ -196,7 +226,59 @@ public class MancalaController {
                 
                 model.switchTurn();
                 model.getCurrentPlayer().didPlayerMove(false);
-                view.updateView();
+            }
+        });
+
+        view.computerMoveButton.addActionListener(new ActionListener() {
+            @Override
+			/**
+			 * Handles the action event triggered when the Computer Move button is clicked.
+			 * The computer searches the current board for the active player and plays
+			 * the best pit it finds within its time budget. The search runs off the
+			 * event thread and the move is applied back on it, unless the board,
+			 * the player to move, or whether they have moved changed meanwhile.
+			 * @param e - the action event triggered by clicking the Computer Move button and activates it.
+			 */
+            public void actionPerformed(ActionEvent e) {
+                if (model.isGameOver()) {
+                    view.visualErrorScreen(model.getGameResult());
+                    return;
+                }
+                if (model.getCurrentPlayer().getPlayerMove()) {
+                    view.visualErrorScreen(model.getCurrentPlayer().getName() + " has already selected a pit this turn.");
+                    return;
+                }
+                BoardState position = model.getBoardState().copy();
+                long searchedHash = position.getHash();
+                boolean playerA = model.getCurrentPlayer() == model.getPlayerA();
+                view.computerMoveButton.setEnabled(false);
+                new SwingWorker<Integer, Void>() {
+                    @Override
+                    protected Integer doInBackground() {
+                        return computer.chooseMove(position, playerA, COMPUTER_MOVE_MILLIS);
+                    }
+
+                    @Override
+                    protected void done() {
+                        view.computerMoveButton.setEnabled(true);
+                        view.computerMoveButton.setToolTipText(computer.getSearchSummary());
+                        try {
+                            int move = get();
+                            if (move < 0) {
+                                return;
+                            }
+                            if (model.getBoardState().getHash() != searchedHash
+                                    || (model.getCurrentPlayer() == model.getPlayerA()) != playerA
+                                    || model.getCurrentPlayer().getPlayerMove()) {
+                                view.visualErrorScreen("The board changed during the computer's search; its move was discarded.");
+                                return;
+                            }
+                            model.makeMove(move);
+                        } catch (Exception ex) {
+                            view.visualErrorScreen("Computer move failed: " + ex.getMessage());
+                        }
+                    }
+                }.execute();
             }
         });
     }
@@ -0,0 +1,110 @@
+/**
+ * MancalaListener defines the events a MancalaModel publishes while a game
+ * is played. Views, computer players, and headless tools subscribe to these
+ * events instead of being called directly by the model.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * Receives notifications from a MancalaModel. Every method has an empty
+ * default implementation so subscribers only override the events they need.
+ * Events are delivered on the thread that called into the model.
+ */
+public interface MancalaListener {
+
+    /**
+     * Called after a move has been sown and any capture applied.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param freeTurn true if the move earned the mover a free turn
+     */
+    default void moveApplied(int startIdx, boolean freeTurn) {
+    }
+
+    /**
+     * Returns whether this listener needs {@link #moveTraced(MoveTrace)}.
+     * Building a trace copies the board, so the model only does it when at
+     * least one registered listener returns true. The answer must not
+     * change while the listener is registered.
+     *
+     * @return true to receive move traces
+     */
+    default boolean wantsTrace() {
+        return false;
+    }
+
+    /**
+     * Called after a move has been sown, with a trace of where its stones
+     * went, before the changed pits and the move itself are reported. The
+     * board already holds the result of the move. Only called on listeners
+     * whose {@link #wantsTrace()} returns true.
+     *
+     * @param trace the trace of the move
+     */
+    default void moveTraced(MoveTrace trace) {
+    }
+
+    /**
+     * Called when the stone counts of some pits have changed, before the
+     * event that describes why (a move, undo, reset, or timeline jump).
+     *
+     * @param changedPits a bit mask with bit i set if pit i changed
+     */
+    default void pitsChanged(int changedPits) {
+    }
+
+    /**
+     * Called when a move or undo request is rejected.
+     *
+     * @param reason a human-readable explanation of why it was rejected
+     */
+    default void illegalMove(String reason) {
+    }
+
+    /**
+     * Called when the current player earns a free turn.
+     *
+     * @param player the player who moves again
+     */
+    default void freeTurn(Player player) {
+    }
+
+    /**
+     * Called when a move ends the game, or when an action is attempted
+     * after the game has ended.
+     *
+     * @param result a summary of the winner and final scores
+     */
+    default void gameOver(String result) {
+    }
+
+    /**
+     * Called after an undo has restored a previous board.
+     */
+    default void undoApplied() {
+    }
+
+    /**
+     * Called after the turn passes to the other player.
+     *
+     * @param next the player whose turn it now is
+     */
+    default void turnSwitched(Player next) {
+    }
+
+    /**
+     * Called after the board has been initialized for a new game.
+     */
+    default void boardReset() {
+    }
+
+    /**
+     * Called after the model jumps to another position of its timeline.
+     *
+     * @param ply the ply that is now shown
+     */
+    default void timelineMoved(int ply) {
+    }
+}
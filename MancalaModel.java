@@ -7,32 +7,51 @@
  * @version 1.0 12/4/25
  */
 import java.util.ArrayList;
-import javax.swing.*;
 
 /**
  * The MancalaModel class stores and updates the state of the Mancala game.
  * It coordinates moves, tracks scores, handles undo operations, and determines
- * when the game is over and who the winner is.
+ * when the game is over and who the winner is. The model has no dependency on
+ * the view; changes and messages are published to registered MancalaListeners.
  */
 public class MancalaModel {
-    
+
+    /**
+     * The most stones a regular pit may start with. All 12 pits together
+     * then hold at most 120 stones, which any pit of a {@link BoardState}
+     * can store.
+     */
+    public static final int MAX_STONES_PER_PIT = 10;
+
+    private static final String[] PIT_NAMES = {
+        "A1", "A2", "A3", "A4", "A5", "A6", "MancalaA",
+        "B6", "B5", "B4", "B3", "B2", "B1", "MancalaB"
+    };
+
+    private BoardState board;
     private ArrayList<Pit> pitList;
     private BoardDesign boardDesign;
-    private MancalaView view;
+    private ArrayList<MancalaListener> listeners;
+    private int traceListeners;
     private Player playerA;
     private Player playerB;
     private UndoManager manager;
+    private EndgameTable endgameTable;
+    private GameTimeline timeline;
     private int stonesPerPit;
 
     /**
      * Constructs a new MancalaModel, creates two players, and initializes
      * the undo manager. The board is not initialized until {@link #initialize()} is called.
+     * The pit list is created the first time it is asked for, so models that
+     * are only played through indices, such as server sessions, stay small.
      */
     public MancalaModel() {
-        pitList = new ArrayList<>();
+        board = new BoardState();
         playerA = new Player("Player A", true);
         playerB = new Player("Player B", false);
         manager = new UndoManager(playerA);
+        listeners = new ArrayList<>();
         stonesPerPit = 0;
     }
 
@@ -42,60 +61,182 @@ public class MancalaModel {
      * the mancalas. It also resets turns and undo counts.
      */
     public void initialize() {
-        pitList.clear();
-        pitList.add(new Pit("A1", stonesPerPit));
-        pitList.add(new Pit("A2", stonesPerPit));
-        pitList.add(new Pit("A3", stonesPerPit));
-        pitList.add(new Pit("A4", stonesPerPit));
-        pitList.add(new Pit("A5", stonesPerPit));
-        pitList.add(new Pit("A6", stonesPerPit));
-        pitList.add(new Pit("MancalaA", 0));
-        pitList.add(new Pit("B6", stonesPerPit));
-        pitList.add(new Pit("B5", stonesPerPit));
-        pitList.add(new Pit("B4", stonesPerPit));
-        pitList.add(new Pit("B3", stonesPerPit));
-        pitList.add(new Pit("B2", stonesPerPit));
-        pitList.add(new Pit("B1", stonesPerPit));
-        pitList.add(new Pit("MancalaB", 0));
+        board.fill(stonesPerPit);
+        syncScoresFromMancalas();
         playerA.setTurn(true);
+        playerB.setTurn(false);
+        playerA.didPlayerMove(false);
+        playerB.didPlayerMove(false);
         playerA.setNumberOfUndos(0);
         playerB.setNumberOfUndos(0);
         manager.resetUndo(playerA);
+        if (timeline != null) {
+            timeline.reset(board, true);
+        }
+        firePitsChanged();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).boardReset();
+        }
     }
 
     /**
-     * Saves the current game state (pits, scores, and active player)
-     * into the undo manager so it can be restored later.
+     * Attempts to undo the last move by reversing it on the board.
+     * If undo is not allowed, listeners are notified of the reason.
+     *
+     * @return the updated list of pits after undo, or the current list
+     *         if undo could not be performed
      */
-    public void saveUndoState() {
-        manager.saveState(pitList, playerA.getScore(), playerB.getScore(), playerA.getTurn());
+    public ArrayList<Pit> undo() {
+        undoMove();
+        return getPitList();
     }
 
     /**
-     * Attempts to undo the last move, restoring a previous game state.
-     * If undo is not allowed, an error message is shown on the view.
+     * Attempts to undo the last move by reversing it on the board.
+     * If undo is not allowed, listeners are notified of the reason.
+     * Unlike {@link #undo()}, this never creates the pit list.
+     * With the timeline enabled, undo steps back one ply along it instead,
+     * with no limit and even after the game has ended.
      *
-     * @return the updated list of pits after undo, or the current list
-     *         if undo could not be performed
+     * @return true if a move was undone, false otherwise
      */
-    public ArrayList<Pit> undo() {
+    public boolean undoMove() {
+        if (timeline != null) {
+            if (!timeline.canUndo()) {
+                fireIllegalMove("No move to undo yet!");
+                return false;
+            }
+            return seek(timeline.getPly() - 1);
+        }
         if (isGameOver()) {
-            view.visualErrorScreen(getGameResult());
-            return pitList;
+            fireGameOver(getGameResult());
+            return false;
         }
         if (!getCurrentPlayer().getPlayerMove()) {
-            view.visualErrorScreen("No move to undo yet!");
-            return pitList;
+            fireIllegalMove("No move to undo yet!");
+            return false;
         }
-        ArrayList<Pit> restored = manager.undo(playerA, playerB);
-        if (restored != null) {
-            pitList = restored;
+        if (manager.undo(board, playerA, playerB)) {
             syncScoresFromMancalas();
             getCurrentPlayer().didPlayerMove(false);
-        } else {
-        	view.visualErrorScreen("Reached max number of undos");
+            firePitsChanged();
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).undoApplied();
+            }
+            return true;
+        }
+        fireIllegalMove("Reached max number of undos");
+        return false;
+    }
+
+    /**
+     * Takes an immutable copy of the game's state, which other threads may
+     * read while the game goes on.
+     *
+     * @return the snapshot
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.of(board, stonesPerPit, playerA, playerB, manager);
+    }
+
+    /**
+     * Puts the game back in the state of a snapshot, including the undo
+     * history, so play and undo continue as if the game had never stopped.
+     * The timeline, if enabled, restarts at the restored position.
+     * Listeners are told which pits changed but not of a reset, so a
+     * journal does not record a new game.
+     *
+     * @param snapshot the state to restore
+     */
+    public void restore(GameSnapshot snapshot) {
+        for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+            board.setStones(i, snapshot.getStones(i));
+        }
+        stonesPerPit = snapshot.getStonesPerPit();
+        syncScoresFromMancalas();
+        playerA.setTurn(snapshot.isPlayerAToMove());
+        playerB.setTurn(!snapshot.isPlayerAToMove());
+        playerA.didPlayerMove(snapshot.hasMoved(true));
+        playerB.didPlayerMove(snapshot.hasMoved(false));
+        playerA.setNumberOfUndos(snapshot.getNumberOfUndos(true));
+        playerB.setNumberOfUndos(snapshot.getNumberOfUndos(false));
+        manager.restore(snapshot.isUndoForA() ? playerA : playerB, snapshot.getUndoHistory(), snapshot.getJustUndid());
+        if (timeline != null) {
+            timeline.reset(board, playerA.getTurn());
+        }
+        firePitsChanged();
+    }
+
+    /**
+     * Turns on the analysis timeline, which keeps every move of the game with
+     * unlimited undo, redo, and branching. The timeline starts at the current
+     * position. Games that do not call this keep only the three-undo history.
+     *
+     * @return the timeline
+     */
+    public GameTimeline enableTimeline() {
+        if (timeline == null) {
+            timeline = new GameTimeline();
+        }
+        timeline.reset(board, playerA.getTurn());
+        return timeline;
+    }
+
+    /**
+     * Returns the analysis timeline.
+     *
+     * @return the timeline, or null if {@link #enableTimeline()} has not been called
+     */
+    public GameTimeline getTimeline() {
+        return this.timeline;
+    }
+
+    /**
+     * Jumps to the given ply of the timeline's current line. The board, scores,
+     * and turn are restored, and the player to move may move again.
+     *
+     * @param ply the ply to jump to, where 0 is the starting position
+     * @return true if the position changed, false if there is no timeline or
+     *         the ply is not on the current line
+     */
+    public boolean seek(int ply) {
+        if (timeline == null || !timeline.seek(ply)) {
+            return false;
+        }
+        restoreFromTimeline();
+        return true;
+    }
+
+    /**
+     * Steps forward one ply along the timeline's current line, replaying a
+     * move that was undone.
+     *
+     * @return true if a move was redone, false otherwise
+     */
+    public boolean redo() {
+        if (timeline == null || !timeline.redo()) {
+            return false;
+        }
+        restoreFromTimeline();
+        return true;
+    }
+
+    /**
+     * Copies the timeline's current position onto the board, resets the turn
+     * state for the player to move, and notifies listeners.
+     */
+    private void restoreFromTimeline() {
+        boolean aToMove = timeline.restore(board);
+        syncScoresFromMancalas();
+        playerA.setTurn(aToMove);
+        playerB.setTurn(!aToMove);
+        playerA.didPlayerMove(false);
+        playerB.didPlayerMove(false);
+        manager.resetUndo(getCurrentPlayer());
+        firePitsChanged();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).timelineMoved(timeline.getPly());
         }
-        return pitList;
     }
 
     /**
@@ -112,17 +253,39 @@ public class MancalaModel {
      * This should be called before {@link #initialize()}.
      *
      * @param stones the number of stones per pit
+     * @throws IllegalArgumentException if stones is negative or more than
+     *         {@link #MAX_STONES_PER_PIT}
      */
     public void setStonesPerPit(int stones) {
+        if (stones < 0 || stones > MAX_STONES_PER_PIT) {
+            throw new IllegalArgumentException("stones must be between 0 and " + MAX_STONES_PER_PIT);
+        }
         this.stonesPerPit = stones;
     }
 
     /**
-     * Returns the list of pits that make up the current board.
+     * Returns the primitive board state that backs the pit list. Callers that
+     * simulate moves should work on a {@link BoardState#copy()} of it.
+     *
+     * @return the current board state
+     */
+    public BoardState getBoardState() {
+        return this.board;
+    }
+
+    /**
+     * Returns the list of pits that make up the current board, creating it
+     * on the first call.
      *
      * @return the current pit list
      */
     public ArrayList<Pit> getPitList() {
+        if (pitList == null) {
+            pitList = new ArrayList<>(BoardState.PIT_COUNT);
+            for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+                pitList.add(new Pit(PIT_NAMES[i], board, i));
+            }
+        }
         return this.pitList;
     }
 
@@ -145,19 +308,102 @@ public class MancalaModel {
     }
 
     /**
-     * Registers the view so the model can notify it of changes and display messages.
+     * Sets the endgame table used for perfect-play hints.
      *
-     * @param mancalaView the view associated with this model
+     * @param table the endgame table, or null to turn hints off
      */
-    public void addView(MancalaView mancalaView) {
-        this.view = mancalaView;
+    public void setEndgameTable(EndgameTable table) {
+        this.endgameTable = table;
+    }
+
+    /**
+     * Returns the endgame table used for perfect-play hints.
+     *
+     * @return the endgame table, or null if none has been set
+     */
+    public EndgameTable getEndgameTable() {
+        return this.endgameTable;
+    }
+
+    /**
+     * Returns the perfect-play move for the current player when few enough
+     * stones are left for the endgame table to cover the position.
+     *
+     * @return the index of the best pit, or -1 if there is no table, the
+     *         position is not covered, or the game is over
+     */
+    public int getPerfectPlayHint() {
+        if (endgameTable == null) return -1;
+        return endgameTable.bestMove(board, getCurrentPlayer() == playerA);
+    }
+
+    /**
+     * Registers a listener to be notified of moves, messages, and game events.
+     * Any number of listeners may be registered.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(MancalaListener listener) {
+        listeners.add(listener);
+        if (listener.wantsTrace()) {
+            traceListeners++;
+        }
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(MancalaListener listener) {
+        if (listeners.remove(listener) && listener.wantsTrace()) {
+            traceListeners--;
+        }
+    }
+
+    /**
+     * Notifies every listener of the pits written since the last
+     * notification, if there are any.
+     */
+    private void firePitsChanged() {
+        int changed = board.takeChangedPits();
+        if (changed == 0) return;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).pitsChanged(changed);
+        }
+    }
+
+    /**
+     * Notifies every listener that a move or undo request was rejected.
+     *
+     * @param reason the message describing why the request was rejected
+     */
+    private void fireIllegalMove(String reason) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).illegalMove(reason);
+        }
+    }
+
+    /**
+     * Notifies every listener that the game has ended.
+     *
+     * @param result the summary of the final result
+     */
+    private void fireGameOver(String result) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).gameOver(result);
+        }
     }
 
     /**
      * Executes a move starting from the pit at the given index.
      * This method validates the move, distributes stones, handles captures,
-     * checks for extra turns, and determines if the game has ended.
-     * It also updates the view and displays relevant messages.
+     * checks for extra turns, and determines if the game has ended. Only
+     * valid moves are recorded for undo.
+     * Listeners are notified of the applied move, free turns, rejected moves,
+     * and the end of the game, and receive a {@link MoveTrace} of the sowing.
+     * The move is complete when this method returns; listeners that animate
+     * the trace do so afterwards.
      *
      * @param startIdx the index of the starting pit
      * @return true if the current player earned a free turn, false otherwise
@@ -166,84 +412,71 @@ public class MancalaModel {
      */
     public boolean makeMove(int startIdx) {
         Player current = getCurrentPlayer();
-        Player other = (current == playerA) ? playerB : playerA;
         
         if (current.getPlayerMove()) {
-            view.visualErrorScreen(current.getName() + " has already selected a pit this turn.");
+            fireIllegalMove(current.getName() + " has already selected a pit this turn.");
             return false;
         }
         
-        saveUndoState();
-        
         if (!isPlayersRegularPit(current, startIdx)) {
-        	view.visualErrorScreen("Invalid pit clicked");
+        	fireIllegalMove("Invalid pit clicked");
             return false;
         }
         
-        int stones = pitList.get(startIdx).getStones();
-        if (stones == 0) {
-        	view.visualErrorScreen("Selected pit is empty.");
+        if (board.getStones(startIdx) == 0) {
+        	fireIllegalMove("Selected pit is empty.");
             return false;
         }
 
-        pitList.get(startIdx).setStones(0);
-
-        int idx = startIdx;
-        int lastIdx = -1;
-        while (stones > 0) {
-            idx = (idx + 1) % pitList.size();
-            if (idx == mancalaIndex(other)) {
-                continue;
-            }
-            pitList.get(idx).setStones(pitList.get(idx).getStones() + 1);
-            stones--;
-            lastIdx = idx;
-        }
+        int sown = board.getStones(startIdx);
+        BoardState before = traceListeners == 0 ? null : board.copy();
+        boolean freeTurn = board.move(current == playerA, startIdx);
+        manager.recordMove(startIdx, sown, board.getLastIndex(), board.getLastCaptured(), current == playerA);
 
-        if (isPlayersRegularPit(current, lastIdx) && pitList.get(lastIdx).getStones() == 1) {
-            int opp = oppositeIndex(lastIdx);
-            int captured = (opp >= 0) ? pitList.get(opp).getStones() : 0;
-            if (captured > 0) {
-                int man = mancalaIndex(current);
-                int toMove = captured + 1; 
-
-                pitList.get(man).setStones(pitList.get(man).getStones() + toMove);
-                pitList.get(lastIdx).setStones(0);
-                pitList.get(opp).setStones(0);
+        syncScoresFromMancalas();
 
-                current.addScore(toMove);
+        if (before != null) {
+            MoveTrace trace = new MoveTrace(before, startIdx, current == playerA,
+                board.getLastIndex(), board.getLastCaptured(), freeTurn);
+            for (int i = 0; i < listeners.size(); i++) {
+                if (listeners.get(i).wantsTrace()) {
+                    listeners.get(i).moveTraced(trace);
+                }
             }
         }
 
-        boolean freeTurn = (lastIdx == mancalaIndex(current));
-
-        syncScoresFromMancalas();
-
         if (isGameOver()) {
             endGame();
-            view.updateView();
-            if (view != null) {
-                String result = getGameResult();
-                view.visualErrorScreen(result);
+            // the last position is stored swept, with the scores the game reports
+            if (timeline != null) {
+                timeline.record(startIdx, board, freeTurn == (current == playerA));
             }
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).moveApplied(startIdx, false);
+            }
+            fireGameOver(getGameResult());
             return false;
         }
         
-        getCurrentPlayer().didPlayerMove(true);
-
-        if (boardDesign != null) {
-            view.updateView();
+        if (timeline != null) {
+            timeline.record(startIdx, board, freeTurn == (current == playerA));
         }
-        if (view != null) {
-            view.updateView();
-        }
-        
+        getCurrentPlayer().didPlayerMove(true);
         manager.clearUndoFlag();
-        
         if (freeTurn) {
             manager.resetUndoForFreeTurn();
             getCurrentPlayer().didPlayerMove(false);
-            view.visualErrorScreen(getCurrentPlayer().getName() + " gets a free turn!");
+        }
+
+        firePitsChanged();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).moveApplied(startIdx, freeTurn);
+        }
+
+        if (freeTurn) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).freeTurn(getCurrentPlayer());
+            }
             return true;
         } else {
             return false;
@@ -270,24 +503,12 @@ public class MancalaModel {
      * @return the index of the pit, or -1 if not found
      */
     public int indexOf(String pitName) {
-        for (int i = 0; i < pitList.size(); i++) {
-            if (pitList.get(i).getName().equals(pitName)) return i;
+        for (int i = 0; i < PIT_NAMES.length; i++) {
+            if (PIT_NAMES[i].equals(pitName)) return i;
         }
         return -1;
     }
 
-    /**
-     * Returns the index of the pit directly opposite the given index.
-     * If the index corresponds to a mancala, -1 is returned.
-     *
-     * @param idx the pit index
-     * @return the opposite pit index, or -1 for mancalas
-     */
-    private int oppositeIndex(int idx) {
-        if (idx == 6 || idx == 13) return -1;
-        return 12 - idx;
-    }
-
     /**
      * Checks whether a pit index refers to a regular pit belonging to the given player.
      *
@@ -296,20 +517,7 @@ public class MancalaModel {
      * @return true if the pit is a regular pit on that player's side, false otherwise
      */
     private boolean isPlayersRegularPit(Player p, int idx) {
-        if (idx < 0 || idx >= pitList.size()) return false;
-        if (idx == 6 || idx == 13) return false; 
-        if (p == playerA) return idx >= 0 && idx <= 5;
-        return idx >= 7 && idx <= 12; 
-    }
-
-    /**
-     * Returns the index of the mancala pit for the given player.
-     *
-     * @param p the player
-     * @return 6 for player A, 13 for player B
-     */
-    private int mancalaIndex(Player p) {
-        return (p == playerA) ? 6 : 13;
+        return BoardState.isRegularPit(p == playerA, idx);
     }
 
     /**
@@ -330,6 +538,9 @@ public class MancalaModel {
         playerA.setTurn(!aTurn);
         playerB.setTurn(aTurn);
         manager.resetUndo(getCurrentPlayer());
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).turnSwitched(getCurrentPlayer());
+        }
     }
 
     /**
@@ -337,10 +548,8 @@ public class MancalaModel {
      * currently stored in their mancalas.
      */
     public void syncScoresFromMancalas() {
-        int manA = pitList.get(6).getStones();
-        int manB = pitList.get(13).getStones();
-        playerA.setScore(manA);
-        playerB.setScore(manB);
+        playerA.setScore(board.getScore(true));
+        playerB.setScore(board.getScore(false));
     }
 
     /**
@@ -378,16 +587,7 @@ public class MancalaModel {
      * @return true if all regular pits on that side are empty, false otherwise
      */
     private boolean isPlayerSideEmpty(Player player) {
-        if (player == playerA) {
-            for (int i = 0; i <= 5; i++) {
-                if (pitList.get(i).getStones() > 0) return false;
-            }
-        } else {
-            for (int i = 7; i <= 12; i++) {
-                if (pitList.get(i).getStones() > 0) return false;
-            }
-        }
-        return true;
+        return board.isSideEmpty(player == playerA);
     }
 
     /**
@@ -395,21 +595,9 @@ public class MancalaModel {
      * and placing them into the corresponding mancalas, then syncing the scores.
      */
     public void endGame() {
-        int playerARemaining = 0;
-        for (int i = 0; i <= 5; i++) {
-            playerARemaining += pitList.get(i).getStones();
-            pitList.get(i).setStones(0);
-        }
-        pitList.get(6).setStones(pitList.get(6).getStones() + playerARemaining);
-
-        int playerBRemaining = 0;
-        for (int i = 7; i <= 12; i++) {
-            playerBRemaining += pitList.get(i).getStones();
-            pitList.get(i).setStones(0);
-        }
-        pitList.get(13).setStones(pitList.get(13).getStones() + playerBRemaining);
-
+        board.sweep();
         syncScoresFromMancalas();
+        firePitsChanged();
     }
 
     /**
@@ -0,0 +1,98 @@
+/**
+ * MancalaStrategy is a pluggable way of choosing moves in the Mancala game.
+ * It lets tournaments and headless tools play any kind of player through
+ * the same small interface.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A MancalaStrategy picks the pit to sow for the side to move. Instances may
+ * keep search state between calls, so one instance should only be used by
+ * one thread at a time. The static methods create the built-in players.
+ */
+@FunctionalInterface
+public interface MancalaStrategy {
+
+    /**
+     * Chooses a move for the given side.
+     *
+     * @param board   the current board; it must not be modified
+     * @param playerA true to choose a move for player A, false for player B
+     * @return the index of a non-empty regular pit on that side
+     */
+    int chooseMove(BoardState board, boolean playerA);
+
+    /**
+     * Returns a strategy that plays a uniformly random legal move.
+     *
+     * @return the random strategy
+     */
+    static MancalaStrategy random() {
+        return (board, playerA) -> randomMove(board, playerA);
+    }
+
+    /**
+     * Returns a strategy that takes a free turn when one is available and
+     * otherwise plays the move that adds the most stones to its mancala.
+     * Ties go to the pit closest to the mancala.
+     *
+     * @return the greedy strategy
+     */
+    static MancalaStrategy greedy() {
+        BoardState scratch = new BoardState();
+        return (board, playerA) -> {
+            int from = playerA ? 0 : 7;
+            int mancala = BoardState.mancalaIndex(playerA);
+            int bestMove = -1;
+            int bestGain = Integer.MIN_VALUE;
+            for (int pit = from + 5; pit >= from; pit--) {
+                if (board.getStones(pit) == 0) continue;
+                scratch.copyFrom(board);
+                boolean freeTurn = scratch.move(playerA, pit);
+                int gain = scratch.getStones(mancala) - board.getStones(mancala) + (freeTurn ? 100 : 0);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestMove = pit;
+                }
+            }
+            return bestMove;
+        };
+    }
+
+    /**
+     * Returns a strategy that runs a fixed-depth alpha-beta search with a
+     * small private transposition table.
+     *
+     * @param depth the search depth in plies
+     * @return the alpha-beta strategy
+     */
+    static MancalaStrategy alphaBeta(int depth) {
+        MancalaAI ai = new MancalaAI(new TranspositionTable(1));
+        return (board, playerA) -> ai.chooseMove(board, playerA, depth, Long.MAX_VALUE / 2_000_000L);
+    }
+
+    /**
+     * Picks a uniformly random legal move.
+     *
+     * @param board   the current board
+     * @param playerA true to choose a move for player A, false for player B
+     * @return the index of a random non-empty pit on that side, or -1 if there is none
+     */
+    static int randomMove(BoardState board, boolean playerA) {
+        int from = playerA ? 0 : 7;
+        int count = 0;
+        for (int pit = from; pit < from + 6; pit++) {
+            if (board.getStones(pit) > 0) count++;
+        }
+        if (count == 0) return -1;
+        int pick = ThreadLocalRandom.current().nextInt(count);
+        for (int pit = from; pit < from + 6; pit++) {
+            if (board.getStones(pit) > 0 && pick-- == 0) return pit;
+        }
+        return -1;
+    }
+}
@@ -6,15 +6,95 @@
  * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
  * @version 1.0 12/4/25
  */
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.SplashScreen;
+import java.awt.Window;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.swing.SwingUtilities;
+
 public class MancalaTest {
     /**
      * Entry point for running the Mancala game.
      * It makes sure the players get to play the game.
+     * A small splash window appears first, unless the JVM already shows
+     * one from a -splash option, while a background thread warms up the
+     * model and both board designs and the window is built on the event
+     * thread. The splash closes when the game can take input, which is
+     * recorded as the "interactive" startup milestone. With
+     * -Dmancala.exitWhenInteractive=true the game exits at that point, for
+     * timing starts and for the class-data-sharing training run.
+     * If an endgame table file is present it is memory-mapped for the
+     * computer player and perfect-play hints. The model keeps a timeline of
+     * the game, so moves can be undone and redone without a limit.
      * @param args command-line arguments (unused)
      */
     public static void main(String[] args) {
+        StartupMetrics.mark("main");
+        Window splash = SplashScreen.getSplashScreen() == null ? showSplash() : null;
+        Thread warmup = new Thread(new StartupWarmup(), "mancala-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+
         MancalaModel model = new MancalaModel();
-        MancalaView view = new MancalaView(model);
-        MancalaController controller = new MancalaController(model, view);   
+        model.enableTimeline();
+        Path endgame = Paths.get("MancalaEndgame.bin");
+        if (Files.exists(endgame)) {
+            try {
+                model.setEndgameTable(EndgameTable.open(endgame));
+            } catch (IOException e) {
+                System.err.println("Could not load endgame table: " + e.getMessage());
+            }
+        }
+        SwingUtilities.invokeLater(() -> {
+            MancalaView view = new MancalaView(model);
+            MancalaController controller = new MancalaController(model, view);
+            // runs once the events queued while the window appeared are handled
+            SwingUtilities.invokeLater(() -> {
+                StartupMetrics.mark("interactive");
+                if (splash != null) {
+                    splash.dispose();
+                }
+                if (Boolean.getBoolean("mancala.exitWhenInteractive")) {
+                    try {
+                        warmup.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    System.out.print(StartupMetrics.getSummary());
+                    System.exit(0);
+                }
+            });
+        });
+    }
+
+    /**
+     * Shows a plain AWT window with the game's name, which needs none of
+     * the Swing classes and look-and-feel setup the game window loads.
+     *
+     * @return the splash window, to be disposed when the game is ready
+     */
+    private static Window showSplash() {
+        Window splash = new Window(null) {
+            @Override
+            public void paint(Graphics g) {
+                g.setColor(new Color(160, 82, 45));
+                g.fillRect(0, 0, getWidth(), getHeight());
+                g.setColor(new Color(245, 222, 179));
+                g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 36));
+                g.drawString("Mancala", 40, 80);
+                g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+                g.drawString("Loading...", 42, 115);
+                StartupMetrics.mark("splash painted");
+            }
+        };
+        splash.setSize(300, 160);
+        splash.setLocationRelativeTo(null);
+        splash.setVisible(true);
+        return splash;
     }
 }
@@ -14,15 +14,16 @@ import java.awt.font.*;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.geom.*;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 /**
  * The MancalaView class extends JFrame and is responsible for managing
  * the main game window. It creates the initial selection screen,
  * draws the board and stones, and provides buttons and dialogs for
- * player interaction.
+ * player interaction. It listens to the model for moves and messages.
  */
-public class MancalaView extends JFrame {
+public class MancalaView extends JFrame implements MancalaListener {
 	
     JButton gameStartButton = new JButton("Game Start");
     JButton boardRegularButton = new JButton("Regular Board");
@@ -31,36 +32,54 @@ public class MancalaView extends JFrame {
     JButton fourStonesButton = new JButton("Four Stones");
     JButton switchPlayerButton = new JButton("Switch Player");
     JButton undoButton = new JButton("Undo Turn");
+    JButton redoButton = new JButton("Redo Turn");
+    JButton computerMoveButton = new JButton("Computer Move");
+    JSlider timelineSlider = new JSlider(0, 0, 0);
     private JPanel boardPanel;
+    private JLabel turnLabel;
     private MancalaModel model;
+    private BoardLayerCache layerCache = new BoardLayerCache();
+    private StoneRenderer stoneRenderer = new StoneRenderer(8, 4, Color.BLACK);
+    private BoardLayout layout;
+    private FrameTimer frameTimer = new FrameTimer(120);
+    private SowingAnimator animator;
+    private ToastOverlay toasts = new ToastOverlay();
     
     /**
      * Constructs the MancalaView and displays the initial setup screen where
      * players choose a board design and the number of stones per pit.
-     * The view also registers itself with the model.
+     * The board previews appear as soon as they are loaded in the
+     * background, so the window does not wait for them.
+     * The view also registers itself as a listener on the model.
      *
      * @param model the MancalaModel that this view is associated with
      */
     public MancalaView(MancalaModel model) {
     	
 		this.model = model;
-		model.addView(this);
+		model.addListener(this);
     	
         setTitle("Mancala Game");
         setSize(1500, 800);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setLayout(new BorderLayout());
 		
-		JPanel chooseDesignPanel = new JPanel();
+		JPanel chooseDesignPanel = new JPanel() {
+			@Override
+			protected void paintComponent(Graphics g) {
+				super.paintComponent(g);
+				StartupMetrics.mark("first paint");
+			}
+		};
 		chooseDesignPanel.setLayout(new GridLayout(2,2));
 		
-		ImageIcon imageIcon = new ImageIcon("MancalaRegularImage.png");
-		Image image = imageIcon.getImage().getScaledInstance(400, 300, Image.SCALE_SMOOTH);
-		JLabel regularBoardPhoto = new JLabel(new ImageIcon(image));
+		// the previews are decoded and scaled off the event thread
+		PreviewImageLoader previews = new PreviewImageLoader(PreviewImageLoader.defaultCacheDirectory());
+		JLabel regularBoardPhoto = new JLabel();
+		previews.loadInto(regularBoardPhoto, Paths.get("MancalaRegularImage.png"), 400, 300);
 		
-		ImageIcon imageIcon2 = new ImageIcon("MancalaHexagonImage.png");
-		Image image2 = imageIcon2.getImage().getScaledInstance(400,  300, Image.SCALE_SMOOTH);
-		JLabel hexagonBoardPhoto = new JLabel(new ImageIcon(image2));
+		JLabel hexagonBoardPhoto = new JLabel();
+		previews.loadInto(hexagonBoardPhoto, Paths.get("MancalaHexagonImage.png"), 400, 300);
 		
 		chooseDesignPanel.add(regularBoardPhoto);
 		chooseDesignPanel.add(hexagonBoardPhoto);
@@ -81,35 +100,35 @@ public class MancalaView extends JFrame {
 		add(stonesPerPitPanel, BorderLayout.CENTER);
 		add(gameStartButton, BorderLayout.SOUTH);
 		
+		setGlassPane(toasts);
+		toasts.setVisible(true);
+		
 		setVisible(true);
 		
     }
     
     /**
-     * Updates the main game view after the model changes by rebuilding
-     * the top label, board display, and bottom control buttons.
-     * This method is typically called by the model when a move is made.
+     * Shows the game screen. The first call replaces the setup screen with
+     * the turn label, board, and control buttons; later calls keep those
+     * components in place and only refresh the turn label and board, so
+     * no layout pass is needed.
      */
     public void updateView() {
-    	
-    	getContentPane().removeAll();
-    	
-    	JPanel stringDisplay = createStringPanel();
-    	
     	if (boardPanel == null) {
-        	boardPanel = createBoardDisplay();
-        }
-    	
-    	JPanel buttonsDisplay = bottomButtonsPanel();
-    	
-    	add(stringDisplay, BorderLayout.NORTH);
-    	add(boardPanel, BorderLayout.CENTER);
-    	add(buttonsDisplay, BorderLayout.SOUTH);
-    	
-    	revalidate();
-    	repaint();
+    		getContentPane().removeAll();
+    		boardPanel = createBoardDisplay();
+    		add(createStringPanel(), BorderLayout.NORTH);
+    		add(boardPanel, BorderLayout.CENTER);
+    		add(bottomButtonsPanel(), BorderLayout.SOUTH);
+    		revalidate();
+    		repaint();
+    	} else {
+    		boardPanel.repaint();
+    	}
+    	refreshTurnLabel();
+    	refreshTimeline();
     }
-    
+
     /**
      * Creates the panel that displays whose turn it is at the top of the screen.
      *
@@ -118,16 +137,79 @@ public class MancalaView extends JFrame {
     private JPanel createStringPanel() {
     	JPanel panel = new JPanel();
     	
-    	JLabel announceTurn = new JLabel(model.getCurrentPlayer().getName() + "'s Turn");
-    	announceTurn.setFont(new Font("SansSerif", Font.PLAIN, 30));
-    	panel.add(announceTurn);
+    	turnLabel = new JLabel();
+    	turnLabel.setFont(new Font("SansSerif", Font.PLAIN, 30));
+    	panel.add(turnLabel);
  
     	return panel;
     }
+
+    /**
+     * Returns the board layout for a panel of the given size. A new layout,
+     * and stone sprites to match it, are made only when the size or the
+     * number of pits has changed since the last paint.
+     *
+     * @param width  the panel width in pixels
+     * @param height the panel height in pixels
+     * @return the layout to draw the board with
+     */
+    private BoardLayout layoutFor(int width, int height) {
+    	int pitsPerSide = (model.getPitList().size() - 2) / 2;
+    	if (layout == null || !layout.fits(width, height, pitsPerSide)) {
+    		layout = new BoardLayout(width, height, pitsPerSide);
+    		stoneRenderer = new StoneRenderer(layout.getStoneSize(), layout.getStoneGap(), Color.BLACK);
+    		animator.setStoneSize(layout.getStoneSize());
+    	}
+    	return layout;
+    }
+
+    /**
+     * Stops the sowing animation, if one is running, so the board shows the
+     * model's current counts.
+     */
+    private void skipAnimation() {
+    	if (animator != null) {
+    		animator.skip();
+    	}
+    }
+
+    /**
+     * Updates the turn label to show the current player. Nothing happens
+     * before the game screen is shown or if the player has not changed.
+     */
+    private void refreshTurnLabel() {
+    	if (turnLabel == null) {
+    		return;
+    	}
+    	String text = model.getCurrentPlayer().getName() + "'s Turn";
+    	if (!text.equals(turnLabel.getText())) {
+    		turnLabel.setText(text);
+    	}
+    }
     
+    /**
+     * Moves the timeline slider to the ply being shown and stretches it over
+     * the current line, and enables Redo if there is a later ply. Nothing
+     * happens before the game screen is shown or without a timeline.
+     */
+    private void refreshTimeline() {
+    	GameTimeline timeline = model.getTimeline();
+    	if (turnLabel == null || timeline == null) {
+    		return;
+    	}
+    	timelineSlider.getModel().setRangeProperties(timeline.getPly(), 0, 0, timeline.getLength() - 1,
+    		timelineSlider.getValueIsAdjusting());
+    	redoButton.setEnabled(timeline.canRedo());
+    }
+
     /**
      * Creates the main board display panel. It uses a custom paintComponent
-     * implementation to draw the board design and stones in each pit
+     * implementation that copies the cached board layer and then draws the
+     * stones in each pit with one image copy per pit. While a move is being
+     * animated the stone counts come from the animator, and a click on the
+     * board skips the animation. Every paint is timed by the view's FrameTimer.
+     * The board is laid out for the panel's size, and the layout is
+     * recomputed only when that size changes.
      *
      * @return a JPanel that draws the board 
      */
@@ -135,41 +217,42 @@ public class MancalaView extends JFrame {
     	JPanel panel = new JPanel() {
     		@Override
     	    public void paintComponent(Graphics g){
-    			super.paintComponent(g);
+    	        frameTimer.start();
     	        Graphics2D g2 = (Graphics2D) g;
-    	        model.getBoardDesign().draw(g2);
+    	        BoardLayout layout = layoutFor(getWidth(), getHeight());
+    	        layerCache.paint(g2, model.getBoardDesign(), layout, getBackground());
+    	        int inset = layout.getStoneInset();
     	        
     	        ArrayList<Pit> pitList = model.getPitList();
-    	        int width = 8;
-    	        int height = 8;
-    	        
     	        for (Pit pit : pitList) {
-    	        	int numStones = pit.getStones();
+    	        	int numStones = animator.getStones(pit.getIndex(), pit.getStones());
     	        	if (numStones == 0) { continue; }
-    	        	
-    	        	int firstX = pit.getPitXCoordinate() + 20;
-    	        	int y = pit.getPitYCoordinate() + 20;
-    	        	
-    	        	for (int i = 0; i < 6 && numStones > 0; i++) {
-    	        		int x = firstX;
-    	        		for (int j = 0; j < 4 && numStones > 0; j++) {
-    	        			g2.setColor(Color.BLACK);
-    	        			g2.fillOval(x, y, width, height);
-    	        			
-    	        			x += width + 4;
-    	        			numStones--;
-    	        		}
-    	        		y += height + 4;
+    	        	Shape shape = pit.getShape();
+    	        	if (shape != null) {
+    	        		Rectangle bounds = shape.getBounds();
+    	        		if (!g2.hitClip(bounds.x, bounds.y, bounds.width, bounds.height)) { continue; }
     	        	}
+    	        	stoneRenderer.draw(g2, numStones, pit.getPitXCoordinate() + inset, pit.getPitYCoordinate() + inset);
     	        }
+    	        animator.paintInFlight(g2);
+    	        frameTimer.stop();
     	    }
 		};
+    	animator = new SowingAnimator(panel, Color.BLACK, 8);
+    	panel.addMouseListener(new MouseAdapter() {
+    		@Override
+    		public void mousePressed(MouseEvent e) {
+    			animator.skip();
+    		}
+    	});
     	return panel;
     }
     
     /**
      * Creates the panel that holds the bottom control buttons such as
-     * "Switch Player" and "Undo Turn".
+     * "Switch Player", "Undo Turn", and "Computer Move". If the model keeps
+     * a timeline, a "Redo Turn" button and a slider to scrub through the
+     * game's moves are added.
      *
      * @return a JPanel containing the bottom row of control buttons
      */
@@ -178,20 +261,175 @@ public class MancalaView extends JFrame {
  
     	panel.add(switchPlayerButton);
     	panel.add(undoButton);
+    	panel.add(computerMoveButton);
+    	if (model.getTimeline() == null) {
+    		return panel;
+    	}
+    	panel.add(redoButton);
     	
-    	return panel;
+    	JPanel controls = new JPanel(new BorderLayout());
+    	timelineSlider.setToolTipText("Drag to replay the game move by move");
+    	controls.add(panel, BorderLayout.CENTER);
+    	controls.add(timelineSlider, BorderLayout.SOUTH);
+    	return controls;
     }
     
     /**
-     * Displays an informational or error message to the players in a
-     * dialog box. Used for free turn notifications, invalid moves, and
-     * other messages from the model.
+     * Displays an informational or error message to the players as a toast
+     * over the window. Used for free turn notifications, invalid moves, and
+     * other messages from the model. The message fades out on its own and
+     * never blocks input, and it may be called from any thread.
      *
-     * @param message the text to display in the dialog
+     * @param message the text to display
      */
     public void visualErrorScreen(String message) {
-    	JOptionPane.showMessageDialog(this, message);
+    	toasts.show(message);
+    }
+    /**
+     * Repaints only the pits whose stone counts changed. Each pit's bounding
+     * rectangle is marked dirty, and Swing merges them into one repaint.
+     *
+     * @param changedPits a bit mask with bit i set if pit i changed
+     */
+    @Override
+    public void pitsChanged(int changedPits) {
+    	if (boardPanel == null) {
+    		return;
+    	}
+    	ArrayList<Pit> pitList = model.getPitList();
+    	for (int i = 0; i < pitList.size(); i++) {
+    		if ((changedPits & (1 << i)) == 0) {
+    			continue;
+    		}
+    		Shape shape = pitList.get(i).getShape();
+    		if (shape == null) {
+    			boardPanel.repaint();
+    			return;
+    		}
+    		Rectangle bounds = shape.getBounds();
+    		boardPanel.repaint(bounds.x - 1, bounds.y - 1, bounds.width + 2, bounds.height + 2);
+    	}
+    }
+
+    /**
+     * Asks the model for move traces, which drive the sowing animation.
+     *
+     * @return true
+     */
+    @Override
+    public boolean wantsTrace() {
+        return true;
+    }
+
+    /**
+     * Starts animating the sowing of a move. The model has already applied
+     * the move, so this only schedules the playback.
+     *
+     * @param trace the trace of the move
+     */
+    @Override
+    public void moveTraced(MoveTrace trace) {
+    	if (animator != null) {
+    		animator.play(trace, model.getPitList());
+    	}
     }
+
+    /**
+     * Refreshes the turn label and timeline slider after the model applies
+     * a move.
+     *
+     * @param startIdx the index of the pit the move started from
+     * @param freeTurn true if the move earned a free turn
+     */
+    @Override
+    public void moveApplied(int startIdx, boolean freeTurn) {
+    	refreshTurnLabel();
+    	refreshTimeline();
+    }
+
+    /**
+     * Stops any animation and refreshes the turn label after an undo
+     * restores the previous turn.
+     */
+    @Override
+    public void undoApplied() {
+    	skipAnimation();
+    	refreshTurnLabel();
+    }
+
+    /**
+     * Refreshes the turn label after the turn passes to the other player.
+     *
+     * @param next the player whose turn it now is
+     */
+    @Override
+    public void turnSwitched(Player next) {
+    	refreshTurnLabel();
+    }
+
+    /**
+     * Shows the reason a move or undo was rejected.
+     *
+     * @param reason the message from the model
+     */
+    @Override
+    public void illegalMove(String reason) {
+    	visualErrorScreen(reason);
+    }
+
+    /**
+     * Tells the players that the current player moves again.
+     *
+     * @param player the player who earned the free turn
+     */
+    @Override
+    public void freeTurn(Player player) {
+    	visualErrorScreen(player.getName() + " gets a free turn!");
+    }
+
+    /**
+     * Shows the final result of the game.
+     *
+     * @param result the winner and final scores
+     */
+    @Override
+    public void gameOver(String result) {
+    	toasts.show(result, 3 * ToastOverlay.DEFAULT_MILLIS);
+    }
+
+    /**
+     * Stops any animation and refreshes the turn label and timeline slider
+     * after the model jumps to another point of its timeline.
+     *
+     * @param ply the ply that is now shown
+     */
+    @Override
+    public void timelineMoved(int ply) {
+    	skipAnimation();
+    	refreshTurnLabel();
+    	refreshTimeline();
+    }
+
+    /**
+     * Stops any animation and refreshes the turn label and timeline slider
+     * after a new game has been set up.
+     */
+    @Override
+    public void boardReset() {
+    	skipAnimation();
+    	refreshTurnLabel();
+    	refreshTimeline();
+    }
+
+    /**
+     * Returns the timer that measures each paint of the board.
+     *
+     * @return the frame timer
+     */
+    public FrameTimer getFrameTimer() {
+        return frameTimer;
+    }
+
     /**
      * Returns board panel
      * 
@@ -0,0 +1,371 @@
+/**
+ * MctsPlayer is a Monte Carlo Tree Search computer player for the Mancala game.
+ * It grows a search tree with the UCT selection rule and scores new leaves
+ * with batches of random playouts run on primitive copies of the board.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The MctsPlayer class runs one search tree per thread from the same root
+ * (root parallelization) and adds up the visit counts of the root moves at
+ * the end. Each tree is stored in preallocated primitive arrays, and every
+ * playout copies the leaf's {@link BoardState} into a reusable scratch board,
+ * so the rules used are exactly those of {@link MancalaModel#makeMove(int)}:
+ * the opponent's mancala is skipped, a last stone landing in an empty pit of
+ * the mover's own side captures the opposite pit plus that stone, and a last
+ * stone in the mover's mancala earns a free turn. A playout scores 1 for a
+ * win, 0.5 for a tie, and 0 for a loss.
+ */
+public class MctsPlayer {
+
+    /** The exploration constant of the UCT formula, sqrt(2). */
+    public static final double DEFAULT_EXPLORATION = 1.41;
+
+    private static final int MAX_PATH = 512;
+
+    private final ForkJoinPool pool;
+    private final Tree[] trees;
+    private double exploration = DEFAULT_EXPLORATION;
+    private int batchSize = 8;
+    private long playouts;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an MCTS player that searches on the given number of threads.
+     *
+     * @param threads      the number of threads, each with its own tree
+     * @param nodesPerTree the maximum number of nodes in each tree
+     * @throws IllegalArgumentException if threads or nodesPerTree is less than one
+     */
+    public MctsPlayer(int threads, int nodesPerTree) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        if (nodesPerTree < 1) throw new IllegalArgumentException("nodesPerTree must be >= 1");
+        this.pool = new ForkJoinPool(threads);
+        this.trees = new Tree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new Tree(nodesPerTree, 0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    /**
+     * Sets the exploration constant of the UCT formula. Larger values spend
+     * more playouts on moves that currently look worse.
+     *
+     * @param exploration the exploration constant
+     * @throws IllegalArgumentException if exploration is negative
+     */
+    public void setExploration(double exploration) {
+        if (exploration < 0) throw new IllegalArgumentException("exploration must be >= 0");
+        this.exploration = exploration;
+    }
+
+    /**
+     * Returns the exploration constant of the UCT formula.
+     *
+     * @return the exploration constant
+     */
+    public double getExploration() {
+        return exploration;
+    }
+
+    /**
+     * Sets how many random playouts are run from each new leaf.
+     *
+     * @param batchSize the number of playouts per leaf
+     * @throws IllegalArgumentException if batchSize is less than one
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be >= 1");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns how many random playouts are run from each new leaf.
+     *
+     * @return the number of playouts per leaf
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Chooses a move for the given side within the given time budget.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    public int chooseMove(BoardState position, boolean playerA, long timeMillis) {
+        long start = System.nanoTime();
+        long deadline = start + timeMillis * 1_000_000L;
+        if (position.isGameOver()) {
+            playouts = 0;
+            elapsedNanos = 0;
+            return -1;
+        }
+        BoardState root = position.copy();
+
+        ArrayList<Future<?>> results = new ArrayList<>();
+        for (Tree tree : trees) {
+            results.add(pool.submit(() -> tree.search(root, playerA, deadline, exploration, batchSize)));
+        }
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("search interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("search failed", e.getCause());
+            }
+        }
+
+        int bestMove = -1;
+        long bestVisits = -1;
+        playouts = 0;
+        for (Tree tree : trees) {
+            playouts += tree.playouts;
+        }
+        int from = playerA ? 0 : 7;
+        for (int pit = from; pit < from + 6; pit++) {
+            long visits = 0;
+            for (Tree tree : trees) {
+                visits += tree.rootVisits(pit);
+            }
+            if (root.getStones(pit) > 0 && visits > bestVisits) {
+                bestVisits = visits;
+                bestMove = pit;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    /**
+     * Returns the number of random playouts run by the most recent search.
+     *
+     * @return the playout count
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Returns the playout speed of the most recent search.
+     *
+     * @return the number of playouts per second across all threads
+     */
+    public long getPlayoutsPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return playouts * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns a one-line summary of the most recent search.
+     *
+     * @return the thread count, playout count, and playout speed
+     */
+    public String getSearchSummary() {
+        return String.format("%d threads, %,d playouts, %,d playouts/s, exploration %.2f, batch %d",
+            trees.length, playouts, getPlayoutsPerSecond(), exploration, batchSize);
+    }
+
+    /**
+     * Shuts down the threads used by this player.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * One search tree, stored in parallel primitive arrays indexed by node.
+     * Node 0 is the root. The children of a node are stored next to each
+     * other starting at {@code firstChild}. The value of a node is the total
+     * playout score of the player who made the move leading to it.
+     */
+    private static final class Tree {
+        private final int[] firstChild;
+        private final byte[] childCount;
+        private final byte[] move;
+        private final boolean[] moverA;
+        private final int[] visits;
+        private final double[] value;
+        private final int[] path = new int[MAX_PATH];
+        private final BoardState board = new BoardState();
+        private final BoardState scratch = new BoardState();
+        private final SplittableRandom random;
+        private int size;
+        private long playouts;
+
+        /**
+         * Constructs an empty tree.
+         *
+         * @param capacity the maximum number of nodes
+         * @param seed     the seed of this tree's random number generator
+         */
+        Tree(int capacity, long seed) {
+            firstChild = new int[capacity];
+            childCount = new byte[capacity];
+            move = new byte[capacity];
+            moverA = new boolean[capacity];
+            visits = new int[capacity];
+            value = new double[capacity];
+            random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Grows the tree from the given root until the deadline passes.
+         *
+         * @param root        the board to search from
+         * @param rootA       true if player A is to move at the root
+         * @param deadline    the {@link System#nanoTime()} at which to stop
+         * @param exploration the exploration constant of the UCT formula
+         * @param batchSize   the number of playouts per new leaf
+         */
+        void search(BoardState root, boolean rootA, long deadline, double exploration, int batchSize) {
+            size = 1;
+            playouts = 0;
+            childCount[0] = 0;
+            visits[0] = 0;
+            value[0] = 0;
+            moverA[0] = !rootA;
+
+            do {
+                board.copyFrom(root);
+                boolean sideA = rootA;
+                int node = 0;
+                int depth = 0;
+                path[depth++] = node;
+
+                // selection: descend through expanded nodes by UCT
+                while (childCount[node] > 0 && !board.isGameOver()) {
+                    node = selectChild(node, exploration);
+                    if (!board.move(sideA, move[node])) sideA = !sideA;
+                    if (depth < MAX_PATH) path[depth++] = node;
+                }
+
+                // expansion: add every legal move of a visited leaf
+                if (!board.isGameOver() && visits[node] > 0 && expand(node, sideA)) {
+                    node = firstChild[node];
+                    if (!board.move(sideA, move[node])) sideA = !sideA;
+                    if (depth < MAX_PATH) path[depth++] = node;
+                }
+
+                // simulation: a batch of random playouts from the leaf
+                double scoreA = 0;
+                for (int i = 0; i < batchSize; i++) {
+                    scoreA += playout(sideA);
+                }
+                playouts += batchSize;
+
+                // backpropagation
+                for (int i = 0; i < depth; i++) {
+                    int n = path[i];
+                    visits[n] += batchSize;
+                    value[n] += moverA[n] ? scoreA : batchSize - scoreA;
+                }
+            } while (System.nanoTime() < deadline);
+        }
+
+        /**
+         * Returns the child of a node with the highest UCT value.
+         *
+         * @param node        the parent node
+         * @param exploration the exploration constant
+         * @return the index of the selected child
+         */
+        private int selectChild(int node, double exploration) {
+            int first = firstChild[node];
+            int last = first + childCount[node];
+            double logParent = Math.log(visits[node] + 1);
+            int best = first;
+            double bestUct = Double.NEGATIVE_INFINITY;
+            for (int c = first; c < last; c++) {
+                if (visits[c] == 0) return c;
+                double uct = value[c] / visits[c] + exploration * Math.sqrt(logParent / visits[c]);
+                if (uct > bestUct) {
+                    bestUct = uct;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Adds a child for every legal move of the side to move at a node.
+         *
+         * @param node  the node to expand
+         * @param sideA true if player A is to move at the node
+         * @return false if the tree is full and the node was not expanded
+         */
+        private boolean expand(int node, boolean sideA) {
+            if (size + 6 > visits.length) return false;
+            int from = sideA ? 0 : 7;
+            firstChild[node] = size;
+            int count = 0;
+            for (int pit = from; pit < from + 6; pit++) {
+                if (board.getStones(pit) == 0) continue;
+                int child = size++;
+                move[child] = (byte) pit;
+                moverA[child] = sideA;
+                childCount[child] = 0;
+                visits[child] = 0;
+                value[child] = 0;
+                count++;
+            }
+            childCount[node] = (byte) count;
+            return true;
+        }
+
+        /**
+         * Plays random legal moves from the current board to the end of the
+         * game, choosing each uniformly among the non-empty pits of the side
+         * to move.
+         *
+         * @param sideA true if player A is to move
+         * @return 1 if player A wins, 0.5 for a tie, 0 if player B wins
+         */
+        private double playout(boolean sideA) {
+            scratch.copyFrom(board);
+            while (!scratch.isGameOver()) {
+                int from = sideA ? 0 : 7;
+                int count = 0;
+                for (int p = from; p < from + 6; p++) {
+                    if (scratch.getStones(p) > 0) count++;
+                }
+                int pick = random.nextInt(count);
+                int pit = from;
+                while (scratch.getStones(pit) == 0 || pick-- > 0) {
+                    pit++;
+                }
+                if (!scratch.move(sideA, pit)) sideA = !sideA;
+            }
+            int diff = scratch.getScore(true) + scratch.sideStones(true)
+                - scratch.getScore(false) - scratch.sideStones(false);
+            return diff > 0 ? 1 : diff < 0 ? 0 : 0.5;
+        }
+
+        /**
+         * Returns the visit count of the root move that sows the given pit.
+         *
+         * @param pit the pit index
+         * @return the number of playouts through that move, or 0 if it was not expanded
+         */
+        long rootVisits(int pit) {
+            int first = firstChild[0];
+            for (int c = first; c < first + childCount[0]; c++) {
+                if (move[c] == pit) return visits[c];
+            }
+            return 0;
+        }
+    }
+}
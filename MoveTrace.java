@@ -0,0 +1,121 @@
+/**
+ * MoveTrace describes how one Mancala move moved its stones, so a view can
+ * replay the sowing after the model has already applied it.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+/**
+ * The MoveTrace class holds the board before a move, the pit the move
+ * started from, and the outcome: where the last stone landed, how many
+ * stones a capture took, and whether the mover earned a free turn. The path
+ * of every stone follows from these with {@link #nextPit(int)}. A trace is
+ * never changed after it is created.
+ */
+public final class MoveTrace {
+
+    private final BoardState before;
+    private final int startIdx;
+    private final boolean playerA;
+    private final int lastIdx;
+    private final int captured;
+    private final boolean freeTurn;
+
+    /**
+     * Constructs a trace of a move that has just been applied.
+     *
+     * @param before   a copy of the board before the move; it must not be
+     *                 changed afterwards
+     * @param startIdx the index of the pit the move started from
+     * @param playerA  true if player A made the move
+     * @param lastIdx  the index of the pit where the last stone landed
+     * @param captured the stones moved to the mancala by a capture, including
+     *                 the capturing stone, or 0 if there was no capture
+     * @param freeTurn true if the move earned a free turn
+     */
+    public MoveTrace(BoardState before, int startIdx, boolean playerA, int lastIdx, int captured, boolean freeTurn) {
+        this.before = before;
+        this.startIdx = startIdx;
+        this.playerA = playerA;
+        this.lastIdx = lastIdx;
+        this.captured = captured;
+        this.freeTurn = freeTurn;
+    }
+
+    /**
+     * Returns the number of stones a pit held before the move.
+     *
+     * @param idx the pit index
+     * @return the stone count before the move
+     */
+    public int getStonesBefore(int idx) {
+        return before.getStones(idx);
+    }
+
+    /**
+     * Returns the pit the move started from.
+     *
+     * @return the start pit index
+     */
+    public int getStartIndex() {
+        return startIdx;
+    }
+
+    /**
+     * Returns the number of stones sown.
+     *
+     * @return the stones that were in the start pit
+     */
+    public int getSown() {
+        return before.getStones(startIdx);
+    }
+
+    /**
+     * Returns whether player A made the move.
+     *
+     * @return true for player A, false for player B
+     */
+    public boolean isPlayerA() {
+        return playerA;
+    }
+
+    /**
+     * Returns the pit where the last stone landed.
+     *
+     * @return the last pit index
+     */
+    public int getLastIndex() {
+        return lastIdx;
+    }
+
+    /**
+     * Returns the number of stones moved to the mancala by a capture.
+     *
+     * @return the captured stones including the capturing stone, or 0
+     */
+    public int getCaptured() {
+        return captured;
+    }
+
+    /**
+     * Returns whether the move earned a free turn.
+     *
+     * @return true if the mover moves again
+     */
+    public boolean isFreeTurn() {
+        return freeTurn;
+    }
+
+    /**
+     * Returns the pit that receives the stone after the given pit during
+     * this move, skipping the opponent's mancala.
+     *
+     * @param idx the pit the previous stone landed in
+     * @return the pit the next stone lands in
+     */
+    public int nextPit(int idx) {
+        int next = (idx == BoardState.PIT_COUNT - 1) ? 0 : idx + 1;
+        return next == BoardState.mancalaIndex(!playerA) ? nextPit(next) : next;
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * OffscreenRenderer draws Mancala positions into images without a window,
+ * for thumbnails, replay frames, reports, and snapshot tests. It works with
+ * java.awt.headless=true.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+/**
+ * The OffscreenRenderer class renders the static board once with
+ * {@link BoardDesign#draw(Graphics2D, BoardLayout)} into a shared layer
+ * image, then draws each position into a pooled frame image. A frame
+ * remembers which stones it shows, so rendering a position only restores
+ * the layer behind the pits whose counts changed and draws their stones
+ * again. Consecutive positions of a game differ in a few pits, so a replay
+ * costs a few small image copies per frame.
+ * <p>
+ * Batches are split into runs of consecutive positions and rendered on a
+ * {@link ForkJoinPool}. Each run borrows one frame from the pool for its
+ * whole length and gives it back at the end, so rendering allocates nothing
+ * per frame once every worker has a frame. A frame is only valid inside the
+ * {@link FrameSink} it is passed to and is overwritten afterwards.
+ */
+public class OffscreenRenderer {
+
+    /**
+     * Receives each rendered frame of a batch. Frames of different
+     * positions may be delivered at the same time from different threads.
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+
+        /**
+         * Handles one rendered frame. The image must not be kept or changed
+         * after this method returns.
+         *
+         * @param index the index of the position in the batch
+         * @param frame the rendered image
+         * @throws IOException if the frame cannot be written
+         */
+        void accept(int index, BufferedImage frame) throws IOException;
+    }
+
+    private static final int MAX_SHOWN = StoneRenderer.COLUMNS * StoneRenderer.ROWS;
+
+    private final BoardLayout layout;
+    private final BufferedImage layer;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Frame> frames = new ConcurrentLinkedQueue<>();
+    private int positionsPerTask = 64;
+
+    /**
+     * Constructs a renderer and draws the static board layer. The design
+     * records the layout's pit shapes in its model's pits while it draws.
+     *
+     * @param design     the board design to render
+     * @param width      the image width in pixels
+     * @param height     the image height in pixels
+     * @param background the color behind the board
+     * @param threads    the number of frames rendered at the same time
+     * @throws IllegalArgumentException if a size or threads is less than one
+     */
+    public OffscreenRenderer(BoardDesign design, int width, int height, Color background, int threads) {
+        if (width < 1 || height < 1) throw new IllegalArgumentException("width and height must be >= 1");
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        this.layout = new BoardLayout(width, height, (BoardState.PIT_COUNT - 2) / 2);
+        this.layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = layer.createGraphics();
+        try {
+            g2.setColor(background);
+            g2.fillRect(0, 0, width, height);
+            design.draw(g2, layout);
+        } finally {
+            g2.dispose();
+        }
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Sets how many consecutive positions one task renders with one frame.
+     *
+     * @param positions the number of positions per task
+     * @throws IllegalArgumentException if positions is less than one
+     */
+    public void setPositionsPerTask(int positions) {
+        if (positions < 1) throw new IllegalArgumentException("positions must be >= 1");
+        this.positionsPerTask = positions;
+    }
+
+    /**
+     * Returns the layout the board is drawn with.
+     *
+     * @return the layout for this renderer's image size
+     */
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Renders one position into a new image that the caller may keep.
+     *
+     * @param position the position to draw
+     * @return the rendered image
+     */
+    public BufferedImage render(BoardState position) {
+        Frame frame = borrow();
+        try {
+            frame.draw(position);
+            BufferedImage copy = new BufferedImage(layout.getWidth(), layout.getHeight(), BufferedImage.TYPE_INT_RGB);
+            frame.image.copyData(copy.getRaster());
+            return copy;
+        } finally {
+            frames.add(frame);
+        }
+    }
+
+    /**
+     * Renders every position in the list on the renderer's threads and
+     * passes each frame to the sink. Returns when all frames are delivered.
+     *
+     * @param positions the positions to draw, which must not change meanwhile
+     * @param sink      receives each frame with its index in the list
+     * @throws IOException if the sink fails to handle a frame
+     * @throws IllegalStateException if rendering fails or is interrupted
+     */
+    public void renderAll(List<BoardState> positions, FrameSink sink) throws IOException {
+        ArrayList<Future<Void>> results = new ArrayList<>();
+        for (int first = 0; first < positions.size(); first += positionsPerTask) {
+            int from = first;
+            int to = Math.min(positions.size(), first + positionsPerTask);
+            results.add(pool.submit(() -> renderRun(positions, from, to, sink)));
+        }
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("rendering interrupted", e);
+            } catch (ExecutionException e) {
+                // a ForkJoinPool wraps a task's checked exception in RuntimeExceptions
+                for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                }
+                throw new IllegalStateException("rendering failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Renders every position in the list to a PNG file in the directory,
+     * named with the prefix and the position's index.
+     *
+     * @param positions the positions to draw
+     * @param directory the directory to write into, created if missing
+     * @param prefix    the start of each file name
+     * @throws IOException if the directory or a file cannot be written
+     */
+    public void writePngs(List<BoardState> positions, Path directory, String prefix) throws IOException {
+        Files.createDirectories(directory);
+        renderAll(positions, (index, frame) ->
+            writePng(frame, directory.resolve(String.format("%s%05d.png", prefix, index))));
+    }
+
+    /**
+     * Writes an image to a PNG file.
+     *
+     * @param image the image to write
+     * @param file  the file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public static void writePng(BufferedImage image, Path file) throws IOException {
+        if (!ImageIO.write(image, "png", file.toFile())) {
+            throw new IOException("no PNG writer available");
+        }
+    }
+
+    /**
+     * Stops the renderer's threads. Frames already delivered stay valid.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Renders a run of consecutive positions with one borrowed frame.
+     *
+     * @param positions the batch
+     * @param from      the first index of the run
+     * @param to        the index after the last one of the run
+     * @param sink      receives each frame
+     * @return nothing; declared so the run can be submitted as a Callable
+     * @throws IOException if the sink fails
+     */
+    private Void renderRun(List<BoardState> positions, int from, int to, FrameSink sink) throws IOException {
+        Frame frame = borrow();
+        try {
+            for (int i = from; i < to; i++) {
+                frame.draw(positions.get(i));
+                sink.accept(i, frame.image);
+            }
+        } finally {
+            frames.add(frame);
+        }
+        return null;
+    }
+
+    /**
+     * Takes a frame from the pool, or creates one if the pool is empty.
+     *
+     * @return a frame no other thread is using
+     */
+    private Frame borrow() {
+        Frame frame = frames.poll();
+        return frame != null ? frame : new Frame();
+    }
+
+    /**
+     * One pooled image, the graphics context and stone sprites that draw
+     * into it, and the stone counts it currently shows.
+     */
+    private final class Frame {
+
+        private final BufferedImage image;
+        private final Graphics2D g2;
+        private final StoneRenderer stones;
+        private final int[] shown = new int[BoardState.PIT_COUNT];
+
+        /**
+         * Creates a frame that shows the empty board.
+         */
+        Frame() {
+            image = new BufferedImage(layout.getWidth(), layout.getHeight(), BufferedImage.TYPE_INT_RGB);
+            layer.copyData(image.getRaster());
+            g2 = image.createGraphics();
+            stones = new StoneRenderer(layout.getStoneSize(), layout.getStoneGap(), Color.BLACK);
+        }
+
+        /**
+         * Updates the image to show the given position, redrawing only the
+         * pits whose shown stone counts differ.
+         *
+         * @param position the position to draw
+         */
+        void draw(BoardState position) {
+            int inset = layout.getStoneInset();
+            for (int idx = 0; idx < BoardState.PIT_COUNT; idx++) {
+                int count = Math.min(position.getStones(idx), MAX_SHOWN);
+                if (count == shown[idx]) {
+                    continue;
+                }
+                int x = layout.getPitX(idx) + inset;
+                int y = layout.getPitY(idx) + inset;
+                int right = x + stones.getWidth();
+                int bottom = y + stones.getHeight();
+                g2.drawImage(layer, x, y, right, bottom, x, y, right, bottom, null);
+                stones.draw(g2, count, x, y);
+                shown[idx] = count;
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * ParallelSearch spreads the Mancala game-tree search over several cores.
+ * It runs one alpha-beta searcher per thread on the same position, all of
+ * them sharing a single lock-free transposition table (Lazy SMP).
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The ParallelSearch class owns a group of {@link MancalaAI} searchers and a
+ * shared {@link TranspositionTable}. Every searcher deepens the same root, but
+ * odd-numbered helpers start one ply deeper and each one rotates the root
+ * move order, so they fill the table with different parts of the tree for
+ * the others to reuse. The first searcher to finish its deepest iteration
+ * stops the rest, and the deepest completed result is played.
+ */
+public class ParallelSearch {
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final TranspositionTable table;
+    private final MancalaAI[] workers;
+    private long nodes;
+    private long elapsedNanos;
+    private int depthReached;
+    private int bestScore;
+
+    /**
+     * Constructs a parallel search with its own pool of the given size.
+     *
+     * @param threads         the number of searching threads
+     * @param tableMegabytes  the memory budget of the shared table in megabytes
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    public ParallelSearch(int threads, int tableMegabytes) {
+        this(new ForkJoinPool(checkThreads(threads)), true, new TranspositionTable(tableMegabytes));
+    }
+
+    /**
+     * Constructs a parallel search that runs on an existing pool, with one
+     * searcher for each unit of the pool's parallelism.
+     *
+     * @param pool  the pool to run the searchers on
+     * @param table the transposition table shared by the searchers
+     */
+    public ParallelSearch(ForkJoinPool pool, TranspositionTable table) {
+        this(pool, false, table);
+    }
+
+    /**
+     * Constructs the searchers for the given pool.
+     *
+     * @param pool     the pool to run the searchers on
+     * @param ownsPool true if {@link #shutdown()} should shut the pool down
+     * @param table    the transposition table shared by the searchers
+     */
+    private ParallelSearch(ForkJoinPool pool, boolean ownsPool, TranspositionTable table) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.table = table;
+        this.workers = new MancalaAI[pool.getParallelism()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new MancalaAI(table);
+        }
+    }
+
+    /**
+     * Validates a requested thread count.
+     *
+     * @param threads the number of threads
+     * @return the same number of threads
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    private static int checkThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        return threads;
+    }
+
+    /**
+     * Sets the endgame table used by every searcher.
+     *
+     * @param endgame the endgame table, or null to search every position
+     */
+    public void setEndgameTable(EndgameTable endgame) {
+        for (MancalaAI worker : workers) {
+            worker.setEndgameTable(endgame);
+        }
+    }
+
+    /**
+     * Chooses a move for the given side within the given time budget.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    public int chooseMove(BoardState position, boolean playerA, long timeMillis) {
+        return chooseMove(position, playerA, Integer.MAX_VALUE, timeMillis);
+    }
+
+    /**
+     * Chooses a move for the given side, searching in parallel until one
+     * searcher completes the maximum depth or the time budget runs out.
+     *
+     * @param position   the board to move from; it is not modified
+     * @param playerA    true to choose a move for player A, false for player B
+     * @param maxDepth   the deepest iteration to search, in plies
+     * @param timeMillis the time budget for this move in milliseconds
+     * @return the index of the chosen pit, or -1 if the side has no legal move
+     */
+    public int chooseMove(BoardState position, boolean playerA, int maxDepth, long timeMillis) {
+        long start = System.nanoTime();
+        table.newSearch();
+        for (MancalaAI worker : workers) {
+            worker.clearStop();
+        }
+
+        BoardState root = position.copy();
+        ArrayList<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < workers.length; i++) {
+            MancalaAI worker = workers[i];
+            int startDepth = 1 + (i & 1);
+            int rotation = i;
+            results.add(pool.submit(() -> {
+                int move = worker.iterate(root, playerA, startDepth, rotation, maxDepth, timeMillis);
+                if (!worker.wasStopped()) {
+                    for (MancalaAI other : workers) {
+                        other.requestStop();
+                    }
+                }
+                return move;
+            }));
+        }
+
+        int bestMove = -1;
+        int best = -1;
+        nodes = 0;
+        for (int i = 0; i < workers.length; i++) {
+            int move;
+            try {
+                move = results.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("search interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("search failed", e.getCause());
+            }
+            nodes += workers[i].getNodes();
+            if (best < 0 || workers[i].getDepthReached() > workers[best].getDepthReached()) {
+                best = i;
+                bestMove = move;
+            }
+        }
+        depthReached = workers[best].getDepthReached();
+        bestScore = workers[best].getBestScore();
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    /**
+     * Returns the number of searching threads.
+     *
+     * @return the thread count
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Returns the transposition table shared by the searchers.
+     *
+     * @return the shared table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the total number of positions visited by all searchers during
+     * the most recent search.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the combined search speed of the most recent search.
+     *
+     * @return the number of positions visited per second
+     */
+    public long getNodesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns the wall-clock time of the most recent search.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the deepest iteration completed by any searcher.
+     *
+     * @return the completed depth in plies
+     */
+    public int getDepthReached() {
+        return depthReached;
+    }
+
+    /**
+     * Returns the score of the chosen move from the mover's point of view,
+     * as found by the searcher that went deepest.
+     *
+     * @return the expected mancala lead in stones, or 0 if no searcher
+     *         completed an iteration
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Returns a one-line summary of the most recent search.
+     *
+     * @return the thread count, depth, score, node count, and speed of the last search
+     */
+    public String getSearchSummary() {
+        return String.format("%d threads, depth %d, score %+d, %,d nodes, %,d nodes/s, table hit rate %.1f%%",
+            workers.length, depthReached, bestScore, nodes, getNodesPerSecond(), table.getHitRate() * 100);
+    }
+
+    /**
+     * Shuts down the pool if this search created it.
+     */
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+}
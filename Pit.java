@@ -1,7 +1,7 @@
 /**
  * Pit represents a single pit or mancala on the Mancala board.
- * It stores the pit's name, number of stones, screen position,
- * and the shape used for hit detection in the view.
+ * It is a view-side adapter over one index of a BoardState, and stores
+ * the pit's name, screen position, and the shape used for hit detection.
  *
  * @author
  * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
@@ -12,25 +12,38 @@ import java.awt.Shape;
 
 /**
  * The Pit class holds information about a board location in the Mancala game,
- * including its name, stone count, position, and its drawable shape.
+ * including its name, position, and its drawable shape. The stone count is
+ * read from and written to the BoardState that owns the pit's index.
  */
 public class Pit {
 	
 	private String name;
-	private int stones;
+	private BoardState board;
+	private int index;
 	private int x;
 	private int y;
 	private Shape shape;
 
 	/**
-	 * Creates a pit with the given name and starting stone count.
+	 * Creates a pit with the given name that views one index of a board.
 	 *
-	 * @param name   the label for this pit (e.g., "A1", "B3", "MancalaA")
-	 * @param stones the initial number of stones in this pit
+	 * @param name  the label for this pit (e.g., "A1", "B3", "MancalaA")
+	 * @param board the board state that stores this pit's stones
+	 * @param index the index of this pit in the board state
 	 */
-	public Pit(String name, int stones) {
+	public Pit(String name, BoardState board, int index) {
 		this.name = name;
-		this.stones = stones;
+		this.board = board;
+		this.index = index;
+	}
+
+	/**
+	 * Returns the index of this pit in the board state.
+	 *
+	 * @return this pit's board index
+	 */
+	public int getIndex() {
+		return this.index;
 	}
 
 	/**
@@ -42,6 +55,15 @@ public class Pit {
 		this.shape = s;
 	}
 
+	/**
+	 * Returns the graphical shape used to represent this pit on the board.
+	 *
+	 * @return the Shape of this pit, or null if the board has not been drawn yet
+	 */
+	public Shape getShape() {
+		return this.shape;
+	}
+
 	/**
 	 * Sets the x-coordinate of this pit on the screen.
 	 *
@@ -93,7 +115,7 @@ public class Pit {
 	 * @return the number of stones stored in this pit
 	 */
 	public int getStones() {
-		return this.stones;
+		return board.getStones(index);
 	}
 
 	/**
@@ -102,7 +124,7 @@ public class Pit {
 	 * @param newStones the new stone count for this pit
 	 */
 	public void setStones(int newStones) {
-		this.stones = newStones;
+		board.setStones(index, newStones);
 	}
 
 	/**
@@ -111,8 +133,9 @@ public class Pit {
 	 *
 	 * @param mousePoint the point to test, typically from a mouse event
 	 * @return true if the point is inside this pit's shape, false otherwise
+	 *         or if the board has not been drawn yet
 	 */
 	public boolean containsPoint(Point mousePoint) {
-		return shape.contains(mousePoint);
+		return shape != null && shape.contains(mousePoint);
 	}
 }
@@ -0,0 +1,159 @@
+/**
+ * PitHitIndex finds which pit of a drawn Mancala board lies under a point.
+ * It is built from the pit shapes a BoardDesign records while drawing.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.util.List;
+
+/**
+ * The PitHitIndex class divides the area covered by the pits into square
+ * cells and lists, for each cell, the pits whose bounding boxes overlap it.
+ * A lookup finds the cell of the point, checks the few pits listed there
+ * against their bounding boxes first, and only runs the exact
+ * {@link Shape#contains(double, double)} test on a box hit. The cell lists
+ * are stored in two flat arrays, so a lookup allocates nothing and its cost
+ * does not grow with the number of pits on the board.
+ */
+public class PitHitIndex {
+
+    private static final int CELL_SIZE = 64;
+
+    private final Shape[] shapes;
+    private final Rectangle[] bounds;
+    private final int originX;
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellPits;
+
+    /**
+     * Builds an index over the given pits. Pits without a shape are left
+     * out, so an index built before the board is drawn finds nothing.
+     *
+     * @param pits the pits of the board, in index order
+     */
+    public PitHitIndex(List<Pit> pits) {
+        int count = pits.size();
+        shapes = new Shape[count];
+        bounds = new Rectangle[count];
+        Rectangle area = null;
+        for (int i = 0; i < count; i++) {
+            shapes[i] = pits.get(i).getShape();
+            if (shapes[i] == null) continue;
+            bounds[i] = shapes[i].getBounds();
+            area = area == null ? new Rectangle(bounds[i]) : area.union(bounds[i]);
+        }
+        if (area == null) {
+            area = new Rectangle();
+        }
+        originX = area.x;
+        originY = area.y;
+        columns = Math.max(1, (area.width + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (area.height + CELL_SIZE - 1) / CELL_SIZE);
+
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            if (bounds[i] == null) continue;
+            for (int r = firstRow(i); r <= lastRow(i); r++) {
+                for (int c = firstColumn(i); c <= lastColumn(i); c++) {
+                    cellStart[r * columns + c + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        cellPits = new int[cellStart[columns * rows]];
+        int[] filled = new int[columns * rows];
+        for (int i = 0; i < count; i++) {
+            if (bounds[i] == null) continue;
+            for (int r = firstRow(i); r <= lastRow(i); r++) {
+                for (int c = firstColumn(i); c <= lastColumn(i); c++) {
+                    int cell = r * columns + c;
+                    cellPits[cellStart[cell] + filled[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the pit that contains the given point.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return the pit index, or -1 if the point is not inside any pit
+     */
+    public int pitAt(int x, int y) {
+        int column = Math.floorDiv(x - originX, CELL_SIZE);
+        int row = Math.floorDiv(y - originY, CELL_SIZE);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        int cell = row * columns + column;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int pit = cellPits[k];
+            if (bounds[pit].contains(x, y) && shapes[pit].contains(x, y)) {
+                return pit;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first grid column covered by a pit's bounding box.
+     *
+     * @param pit the pit index
+     * @return the column index
+     */
+    private int firstColumn(int pit) {
+        return clamp((bounds[pit].x - originX) / CELL_SIZE, columns);
+    }
+
+    /**
+     * Returns the last grid column covered by a pit's bounding box.
+     *
+     * @param pit the pit index
+     * @return the column index
+     */
+    private int lastColumn(int pit) {
+        return clamp((bounds[pit].x + bounds[pit].width - 1 - originX) / CELL_SIZE, columns);
+    }
+
+    /**
+     * Returns the first grid row covered by a pit's bounding box.
+     *
+     * @param pit the pit index
+     * @return the row index
+     */
+    private int firstRow(int pit) {
+        return clamp((bounds[pit].y - originY) / CELL_SIZE, rows);
+    }
+
+    /**
+     * Returns the last grid row covered by a pit's bounding box.
+     *
+     * @param pit the pit index
+     * @return the row index
+     */
+    private int lastRow(int pit) {
+        return clamp((bounds[pit].y + bounds[pit].height - 1 - originY) / CELL_SIZE, rows);
+    }
+
+    /**
+     * Limits a cell coordinate to the grid.
+     *
+     * @param value the coordinate
+     * @param size  the number of cells along that axis
+     * @return the coordinate clamped to 0 .. size - 1
+     */
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * PreviewImageLoader loads the board preview pictures of the setup screen
+ * in the background, so the window can appear before they are decoded.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingWorker;
+
+/**
+ * The PreviewImageLoader class gives a label an empty placeholder of the
+ * final size at once, then reads and scales the picture on a
+ * {@link SwingWorker} thread and sets it on the label from the event
+ * thread when it is ready.
+ * <p>
+ * Scaling halves the image with bilinear filtering until it is less than
+ * twice the target size, then makes one last bilinear step. This gives
+ * the quality of an area-averaging scale at a fraction of the cost of
+ * {@link java.awt.Image#getScaledInstance(int, int, int)}. The scaled
+ * picture is saved in a cache directory under a name that includes the
+ * target size and the source file's size and modification time, so later
+ * starts read a small file and skip the scaling. A cache that cannot be
+ * read or written is ignored.
+ */
+public class PreviewImageLoader {
+
+    private final Path cacheDirectory;
+
+    /**
+     * Constructs a loader that caches scaled pictures in the given directory.
+     *
+     * @param cacheDirectory the directory for scaled pictures, created when
+     *                       the first one is saved
+     */
+    public PreviewImageLoader(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Returns the cache directory the game uses by default, which the
+     * system property {@code mancala.cacheDir} can override.
+     *
+     * @return the default cache directory
+     */
+    public static Path defaultCacheDirectory() {
+        String configured = System.getProperty("mancala.cacheDir");
+        return configured != null ? Paths.get(configured)
+            : Paths.get(System.getProperty("java.io.tmpdir"), "mancala-cache");
+    }
+
+    /**
+     * Shows an empty placeholder of the given size on the label and starts
+     * loading the picture into it. Must be called on the event thread.
+     *
+     * @param label  the label that shows the picture
+     * @param source the picture file
+     * @param width  the width to show the picture at
+     * @param height the height to show the picture at
+     */
+    public void loadInto(JLabel label, Path source, int width, int height) {
+        label.setIcon(new ImageIcon(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)));
+        new SwingWorker<BufferedImage, Void>() {
+            @Override
+            protected BufferedImage doInBackground() throws IOException {
+                return load(source, width, height);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    label.setIcon(new ImageIcon(get()));
+                    StartupMetrics.mark("preview " + source.getFileName());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Could not load " + source + ": " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Returns the picture at the given size, from the cache if it holds a
+     * current copy, otherwise by reading and scaling the source and saving
+     * the result in the cache.
+     *
+     * @param source the picture file
+     * @param width  the target width
+     * @param height the target height
+     * @return the scaled picture
+     * @throws IOException if the source cannot be read
+     */
+    public BufferedImage load(Path source, int width, int height) throws IOException {
+        Path cached = cacheDirectory.resolve(String.format("%s-%dx%d-%d-%d.png", source.getFileName(),
+            width, height, Files.size(source), Files.getLastModifiedTime(source).toMillis()));
+        if (Files.exists(cached)) {
+            try {
+                BufferedImage image = ImageIO.read(cached.toFile());
+                if (image != null && image.getWidth() == width && image.getHeight() == height) {
+                    return image;
+                }
+            } catch (IOException e) {
+                // fall through and scale the source again
+            }
+        }
+        BufferedImage original = ImageIO.read(source.toFile());
+        if (original == null) {
+            throw new IOException("not a readable image");
+        }
+        BufferedImage scaled = scale(original, width, height);
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path temp = Files.createTempFile(cacheDirectory, "preview-", ".tmp");
+            ImageIO.write(scaled, "png", temp.toFile());
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the cache only saves time; the picture is still shown
+        }
+        return scaled;
+    }
+
+    /**
+     * Scales an image to the given size by repeated halving and one final
+     * bilinear step.
+     *
+     * @param image  the image to scale
+     * @param width  the target width
+     * @param height the target height
+     * @return a new image of the target size
+     */
+    public static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = next.createGraphics();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g2.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * SowingAnimator plays back a Mancala move stone by stone on the board panel.
+ * It runs on a Swing timer so the model and the event thread never wait on it.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+/**
+ * The SowingAnimator class replays a {@link MoveTrace} after the model has
+ * already applied the move. While it runs, the board panel asks it for the
+ * stone count to show in each pit, and it draws the one stone that is in
+ * flight, moving it from pit to pit along the sowing path and then, for a
+ * capture, from the last pit to the mancala.
+ * <p>
+ * A {@link Timer} ticks at about 60 frames per second on the event thread.
+ * Each tick works out the stone's position from the elapsed time, so slow
+ * frames do not slow the animation down, and marks only the two pits the
+ * stone travels between as dirty. All state is kept in fields and
+ * preallocated arrays, so a tick allocates nothing. Starting a new move
+ * while one is playing finishes the old one at once, so fast clicks are
+ * coalesced into the latest move, and {@link #skip()} jumps to the end.
+ */
+public class SowingAnimator implements ActionListener {
+
+    /** The delay between frames, for about 60 frames per second. */
+    public static final int FRAME_MILLIS = 16;
+
+    private final JComponent target;
+    private final Timer timer;
+    private final Color color;
+    private int stoneSize;
+    private final int[] shown = new int[BoardState.PIT_COUNT];
+    private final int[] left = new int[BoardState.PIT_COUNT];
+    private final int[] top = new int[BoardState.PIT_COUNT];
+    private final int[] right = new int[BoardState.PIT_COUNT];
+    private final int[] bottom = new int[BoardState.PIT_COUNT];
+    private long stepNanos = 90_000_000L;
+
+    private MoveTrace trace;
+    private boolean running;
+    private int step;
+    private int from;
+    private int to;
+    private long stepStart;
+    private int stoneX;
+    private int stoneY;
+
+    /**
+     * Constructs an animator that draws on the given component.
+     *
+     * @param target    the board panel to repaint
+     * @param color     the color of the stone in flight
+     * @param stoneSize the diameter of the stone in flight in pixels
+     */
+    public SowingAnimator(JComponent target, Color color, int stoneSize) {
+        this.target = target;
+        this.color = color;
+        this.stoneSize = stoneSize;
+        this.timer = new Timer(FRAME_MILLIS, this);
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Sets the diameter of the stone in flight, for when the board is
+     * resized.
+     *
+     * @param stoneSize the diameter in pixels
+     */
+    public void setStoneSize(int stoneSize) {
+        this.stoneSize = stoneSize;
+    }
+
+    /**
+     * Sets how long each stone takes to move to the next pit.
+     *
+     * @param millis the duration of one step in milliseconds
+     * @throws IllegalArgumentException if millis is less than one
+     */
+    public void setStepMillis(int millis) {
+        if (millis < 1) throw new IllegalArgumentException("millis must be >= 1");
+        this.stepNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * Starts playing a move. A move that is still playing is finished first.
+     * Nothing is played if the board has not been drawn yet.
+     *
+     * @param trace the move to play
+     * @param pits  the pits of the board, whose shapes give their positions
+     */
+    public void play(MoveTrace trace, List<Pit> pits) {
+        skip();
+        for (int i = 0; i < BoardState.PIT_COUNT; i++) {
+            Shape shape = pits.get(i).getShape();
+            if (shape == null) {
+                return;
+            }
+            Rectangle bounds = shape.getBounds();
+            left[i] = bounds.x;
+            top[i] = bounds.y;
+            right[i] = bounds.x + bounds.width;
+            bottom[i] = bounds.y + bounds.height;
+            shown[i] = trace.getStonesBefore(i);
+        }
+        this.trace = trace;
+        step = 0;
+        from = trace.getStartIndex();
+        to = trace.nextPit(from);
+        shown[from] = 0;
+        stepStart = System.nanoTime();
+        running = true;
+        placeStone(0);
+        repaintStep();
+        timer.start();
+    }
+
+    /**
+     * Finishes the move being played, if any, and shows the board as it is.
+     */
+    public void skip() {
+        if (running) {
+            running = false;
+            timer.stop();
+            target.repaint();
+        }
+    }
+
+    /**
+     * Returns whether a move is being played.
+     *
+     * @return true while the animation runs
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the number of stones to show in a pit.
+     *
+     * @param idx         the pit index
+     * @param modelStones the stones the model holds in that pit
+     * @return the animated count while a move is playing, otherwise modelStones
+     */
+    public int getStones(int idx, int modelStones) {
+        return running ? shown[idx] : modelStones;
+    }
+
+    /**
+     * Draws the stone that is moving between pits, if a move is playing.
+     *
+     * @param g2 the graphics context of the board panel
+     */
+    public void paintInFlight(Graphics2D g2) {
+        if (running) {
+            g2.setColor(color);
+            g2.fillOval(stoneX, stoneY, stoneSize, stoneSize);
+        }
+    }
+
+    /**
+     * Advances the animation by one frame.
+     *
+     * @param e the timer event
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (!running) {
+            return;
+        }
+        long now = System.nanoTime();
+        while (now - stepStart >= stepNanos) {
+            stepStart += stepNanos;
+            land();
+            if (!running) {
+                return;
+            }
+        }
+        placeStone((double) (now - stepStart) / stepNanos);
+        repaintStep();
+    }
+
+    /**
+     * Drops the stone in flight into its destination and sets up the next
+     * step: the next pit of the path, the capture, or the end.
+     */
+    private void land() {
+        int sown = trace.getSown();
+        if (step < sown) {
+            shown[to]++;
+            step++;
+            if (step < sown) {
+                from = to;
+                to = trace.nextPit(to);
+            } else if (trace.getCaptured() > 0) {
+                int opposite = BoardState.oppositeIndex(to);
+                shown[to] = 0;
+                shown[opposite] = 0;
+                repaintPit(opposite);
+                from = to;
+                to = BoardState.mancalaIndex(trace.isPlayerA());
+            } else {
+                skip();
+                return;
+            }
+        } else {
+            shown[to] += trace.getCaptured();
+            skip();
+            return;
+        }
+        repaintStep();
+    }
+
+    /**
+     * Moves the stone in flight to the given fraction of its current step.
+     *
+     * @param t the progress from 0 at the source pit to 1 at the destination
+     */
+    private void placeStone(double t) {
+        int fromX = (left[from] + right[from]) / 2;
+        int fromY = (top[from] + bottom[from]) / 2;
+        int toX = (left[to] + right[to]) / 2;
+        int toY = (top[to] + bottom[to]) / 2;
+        stoneX = (int) (fromX + (toX - fromX) * t) - stoneSize / 2;
+        stoneY = (int) (fromY + (toY - fromY) * t) - stoneSize / 2;
+    }
+
+    /**
+     * Marks the area covering the source and destination pits as dirty.
+     */
+    private void repaintStep() {
+        int x = Math.min(left[from], left[to]);
+        int y = Math.min(top[from], top[to]);
+        int width = Math.max(right[from], right[to]) - x;
+        int height = Math.max(bottom[from], bottom[to]) - y;
+        target.repaint(x - 1, y - 1, width + 2, height + 2);
+    }
+
+    /**
+     * Marks one pit as dirty.
+     *
+     * @param idx the pit index
+     */
+    private void repaintPit(int idx) {
+        target.repaint(left[idx] - 1, top[idx] - 1, right[idx] - left[idx] + 2, bottom[idx] - top[idx] + 2);
+    }
+}
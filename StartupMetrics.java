@@ -0,0 +1,72 @@
+/**
+ * StartupMetrics records how long the Mancala game takes to reach the
+ * milestones of a cold start, such as the first paint of the window.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The StartupMetrics class keeps the time of the first occurrence of each
+ * named milestone. Times are measured from the epoch milliseconds in the
+ * system property {@code mancala.launchMillis}, which a launch script can
+ * set to the moment it starts the JVM, and otherwise from the loading of
+ * this class, which misses the JVM's own startup. Later marks of the same
+ * milestone are ignored, so code on a hot path, such as a paint method,
+ * can mark it on every call for the cost of a map lookup.
+ * <p>
+ * When the system property {@code mancala.startupMetrics} is true, each
+ * milestone is printed to standard error as it is reached.
+ */
+public final class StartupMetrics {
+
+    private static final long START_MILLIS = Long.getLong("mancala.launchMillis", System.currentTimeMillis());
+    private static final boolean PRINT = Boolean.getBoolean("mancala.startupMetrics");
+    private static final Map<String, Long> MILESTONES = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private StartupMetrics() {
+    }
+
+    /**
+     * Records a milestone if it has not been reached before.
+     *
+     * @param milestone the name of the milestone
+     */
+    public static void mark(String milestone) {
+        if (!MILESTONES.containsKey(milestone)) {
+            long millis = System.currentTimeMillis() - START_MILLIS;
+            if (MILESTONES.putIfAbsent(milestone, millis) == null && PRINT) {
+                System.err.printf("startup: %-24s %6d ms%n", milestone, millis);
+            }
+        }
+    }
+
+    /**
+     * Returns when a milestone was reached.
+     *
+     * @param milestone the name of the milestone
+     * @return milliseconds since launch, or -1 if it was not reached
+     */
+    public static long getMillis(String milestone) {
+        return MILESTONES.getOrDefault(milestone, -1L);
+    }
+
+    /**
+     * Returns every milestone reached so far, in the order they were reached.
+     *
+     * @return one line per milestone with its time in milliseconds
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        MILESTONES.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue())
+            .forEach(e -> summary.append(String.format("%-24s %6d ms%n", e.getKey(), e.getValue())));
+        return summary.toString();
+    }
+}
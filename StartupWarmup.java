@@ -0,0 +1,100 @@
+/**
+ * StartupWarmup loads and exercises the parts of the Mancala game that the
+ * first moves need, on a background thread while the window is coming up.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * The StartupWarmup class plays a few moves on a throwaway model and draws
+ * both board designs into an offscreen image, which loads the engine
+ * classes and initializes the font system and the Java2D loops the board
+ * panel uses. It also loads, without initializing, the controller's
+ * listener classes and the Swing classes of the game screen, so the first
+ * click does not wait on the class loader. It never touches a live component, so it is
+ * safe to run off the event thread.
+ * <p>
+ * Run as a program, it warms up once and exits. That is the training run
+ * for a class-data-sharing archive on a machine without a display.
+ */
+public class StartupWarmup implements Runnable {
+
+    private static final String[] SWING_CLASSES = {
+        "javax.swing.JButton", "javax.swing.JLabel", "javax.swing.JPanel",
+        "javax.swing.BoxLayout", "javax.swing.SwingWorker", "javax.swing.Timer",
+        "java.awt.GridLayout", "java.awt.FlowLayout", "java.awt.BorderLayout",
+    };
+
+    /**
+     * Warms up the game and marks the "warmup done" startup milestone.
+     */
+    @Override
+    public void run() {
+        MancalaModel model = new MancalaModel();
+        model.setStonesPerPit(4);
+        model.initialize();
+        model.makeMove(2);
+        model.switchTurn();
+        model.getCurrentPlayer().didPlayerMove(false);
+        model.makeMove(9);
+        model.undo();
+
+        BoardLayout layout = new BoardLayout(1500, 700, (BoardState.PIT_COUNT - 2) / 2);
+        BufferedImage image = new BufferedImage(layout.getWidth(), layout.getHeight(), BufferedImage.TYPE_INT_RGB);
+        StoneRenderer stones = new StoneRenderer(layout.getStoneSize(), layout.getStoneGap(), Color.BLACK);
+        for (BoardDesign design : new BoardDesign[] {new BoardRegular(model), new BoardHexagon(model)}) {
+            Graphics2D g2 = image.createGraphics();
+            try {
+                design.draw(g2, layout);
+                for (Pit pit : model.getPitList()) {
+                    stones.draw(g2, pit.getStones(), pit.getPitXCoordinate() + layout.getStoneInset(),
+                        pit.getPitYCoordinate() + layout.getStoneInset());
+                }
+            } finally {
+                g2.dispose();
+            }
+            design.pitAt(layout.getPitX(0) + 1, layout.getPitY(0) + 1);
+        }
+
+        ClassLoader loader = StartupWarmup.class.getClassLoader();
+        for (String name : SWING_CLASSES) {
+            load(name, loader);
+        }
+        // the controller's listeners are anonymous classes numbered from 1
+        for (int i = 1; load("MancalaController$" + i, loader); i++) {
+            load("MancalaController$" + i + "$1", loader);
+        }
+        StartupMetrics.mark("warmup done");
+    }
+
+    /**
+     * Loads a class without initializing it.
+     *
+     * @param name   the binary name of the class
+     * @param loader the class loader to use
+     * @return true if the class exists
+     */
+    private static boolean load(String name, ClassLoader loader) {
+        try {
+            Class.forName(name, false, loader);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Warms up once on the calling thread and prints the startup milestones.
+     *
+     * @param args command-line arguments (unused)
+     */
+    public static void main(String[] args) {
+        new StartupWarmup().run();
+        System.out.print(StartupMetrics.getSummary());
+    }
+}
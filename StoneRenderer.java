@@ -0,0 +1,129 @@
+/**
+ * StoneRenderer draws the stones inside a Mancala pit from a pre-rendered
+ * sprite atlas, so a pit costs one image copy however many stones it holds.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The StoneRenderer class lays stones out in a grid of {@link #COLUMNS}
+ * columns and {@link #ROWS} rows, filled row by row. The first time it
+ * draws on a screen it renders one cell for every possible stone count,
+ * side by side in a single translucent atlas image. Drawing a pit then
+ * copies the cell for that count. Counts above the grid size show a full
+ * grid, as the board always has. On a HiDPI screen the atlas is rendered
+ * at device resolution, so the copied stones are as sharp as drawn ones.
+ */
+public class StoneRenderer {
+
+    /** The number of stones in each row of a pit. */
+    public static final int COLUMNS = 4;
+    /** The number of rows of stones shown in a pit. */
+    public static final int ROWS = 6;
+
+    private static final int MAX_SHOWN = COLUMNS * ROWS;
+
+    private final int stoneSize;
+    private final int gap;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final Color color;
+    private BufferedImage atlas;
+    private GraphicsConfiguration atlasConfig;
+    private int deviceWidth;
+    private int deviceHeight;
+
+    /**
+     * Constructs a renderer for stones of the given size.
+     *
+     * @param stoneSize the diameter of one stone in pixels
+     * @param gap       the space between neighbouring stones in pixels
+     * @param color     the stone color
+     */
+    public StoneRenderer(int stoneSize, int gap, Color color) {
+        this.stoneSize = stoneSize;
+        this.gap = gap;
+        this.color = color;
+        this.cellWidth = COLUMNS * (stoneSize + gap) - gap;
+        this.cellHeight = ROWS * (stoneSize + gap) - gap;
+    }
+
+    /**
+     * Draws the given number of stones with the top-left stone at (x, y).
+     *
+     * @param g2     the graphics context to draw into
+     * @param stones the number of stones in the pit
+     * @param x      the x-coordinate of the first stone
+     * @param y      the y-coordinate of the first stone
+     */
+    public void draw(Graphics2D g2, int stones, int x, int y) {
+        int shown = Math.min(stones, MAX_SHOWN);
+        if (shown <= 0) {
+            return;
+        }
+        GraphicsConfiguration config = g2.getDeviceConfiguration();
+        if (atlas == null || config != atlasConfig) {
+            buildAtlas(config, BoardLayout.deviceScale(g2));
+        }
+        int sourceX = (shown - 1) * deviceWidth;
+        g2.drawImage(atlas, x, y, x + cellWidth, y + cellHeight,
+            sourceX, 0, sourceX + deviceWidth, deviceHeight, null);
+    }
+
+    /**
+     * Returns the width covered by a full pit of stones.
+     *
+     * @return the width in pixels
+     */
+    public int getWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * Returns the height covered by a full pit of stones.
+     *
+     * @return the height in pixels
+     */
+    public int getHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Renders the atlas: cell n - 1 holds the layout for n stones.
+     *
+     * @param config the screen configuration the atlas will be drawn on
+     * @param scale  the number of device pixels per panel pixel
+     */
+    private void buildAtlas(GraphicsConfiguration config, double scale) {
+        if (atlas != null) {
+            atlas.flush();
+        }
+        deviceWidth = (int) Math.ceil(cellWidth * scale);
+        deviceHeight = (int) Math.ceil(cellHeight * scale);
+        atlas = config.createCompatibleImage(deviceWidth * MAX_SHOWN, deviceHeight, Transparency.TRANSLUCENT);
+        atlasConfig = config;
+        Graphics2D g2 = atlas.createGraphics();
+        try {
+            g2.setColor(color);
+            for (int count = 1; count <= MAX_SHOWN; count++) {
+                Graphics2D cell = (Graphics2D) g2.create((count - 1) * deviceWidth, 0, deviceWidth, deviceHeight);
+                cell.scale(scale, scale);
+                for (int s = 0; s < count; s++) {
+                    int x = (s % COLUMNS) * (stoneSize + gap);
+                    int y = (s / COLUMNS) * (stoneSize + gap);
+                    cell.fillOval(x, y, stoneSize, stoneSize);
+                }
+                cell.dispose();
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
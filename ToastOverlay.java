@@ -0,0 +1,223 @@
+/**
+ * ToastOverlay shows short, self-dismissing messages over the Mancala window
+ * in place of modal dialogs, so play never stops for a message.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * The ToastOverlay class is a transparent component meant to be installed
+ * as a frame's glass pane. Messages go into a bounded {@link ToastQueue}
+ * from any thread; at most one wake-up is scheduled on the event thread at
+ * a time, however many messages arrive. Up to {@link #MAX_VISIBLE} toasts
+ * are stacked near the bottom of the window, each fading out when its time
+ * is up, and a message that repeats while it is on screen only raises the
+ * count shown next to it. Messages that wait longer than their own display
+ * time expire unseen. The overlay never takes mouse input, so clicks
+ * reach the board underneath. Its timer runs only while toasts are shown.
+ */
+public class ToastOverlay extends JComponent implements ActionListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The most toasts shown at once. */
+    public static final int MAX_VISIBLE = 3;
+    /** How long a toast stays on screen unless told otherwise. */
+    public static final int DEFAULT_MILLIS = 2500;
+
+    private static final int FADE_MILLIS = 300;
+    private static final int PADDING = 12;
+
+    private final ToastQueue queue = new ToastQueue(64);
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    private final Timer timer = new Timer(33, this);
+    private final String[] messages = new String[MAX_VISIBLE];
+    private final String[] labels = new String[MAX_VISIBLE];
+    private final int[] counts = new int[MAX_VISIBLE];
+    private final long[] expiresAt = new long[MAX_VISIBLE];
+
+    /**
+     * Constructs an empty overlay.
+     */
+    public ToastOverlay() {
+        setOpaque(false);
+        setFont(new Font("SansSerif", Font.BOLD, 18));
+    }
+
+    /**
+     * Shows a message for the default time. Safe to call from any thread;
+     * never blocks.
+     *
+     * @param message the text to show
+     */
+    public void show(String message) {
+        show(message, DEFAULT_MILLIS);
+    }
+
+    /**
+     * Shows a message for the given time. Safe to call from any thread;
+     * never blocks. Messages are dropped if too many are waiting.
+     *
+     * @param message the text to show
+     * @param millis  how long the toast stays on screen
+     */
+    public void show(String message, int millis) {
+        queue.offer(message, millis);
+        if (wakePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::wake);
+        }
+    }
+
+    /**
+     * Returns the queue of waiting messages.
+     *
+     * @return the toast queue
+     */
+    public ToastQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * Moves waiting toasts on screen and starts the timer, on the event thread.
+     */
+    private void wake() {
+        wakePending.set(false);
+        drain(System.currentTimeMillis());
+        if (hasVisible()) {
+            timer.start();
+        }
+        repaint();
+    }
+
+    /**
+     * Expires old toasts, shows waiting ones, and stops the timer when the
+     * overlay is empty.
+     *
+     * @param e the timer event
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < MAX_VISIBLE; i++) {
+            if (messages[i] != null && now >= expiresAt[i]) {
+                messages[i] = null;
+            }
+        }
+        drain(now);
+        if (!hasVisible()) {
+            timer.stop();
+        }
+        repaint();
+    }
+
+    /**
+     * Takes toasts from the queue while there is room on screen. A toast
+     * whose message is already shown is merged into it, and a toast that
+     * waited longer than its display time is dropped as out of date.
+     *
+     * @param now the current time in milliseconds
+     */
+    private void drain(long now) {
+        while (true) {
+            int free = -1;
+            for (int i = MAX_VISIBLE - 1; i >= 0; i--) {
+                if (messages[i] == null) free = i;
+            }
+            if (free < 0) {
+                return;
+            }
+            ToastQueue.Toast toast = queue.poll();
+            if (toast == null) {
+                return;
+            }
+            if (now - toast.getReportedAt() >= toast.getMillis()) {
+                continue;
+            }
+            int slot = free;
+            counts[slot] = 0;
+            for (int i = 0; i < MAX_VISIBLE; i++) {
+                if (toast.getMessage().equals(messages[i])) {
+                    slot = i;
+                    break;
+                }
+            }
+            messages[slot] = toast.getMessage();
+            counts[slot] += toast.getCount();
+            labels[slot] = counts[slot] > 1 ? messages[slot] + "  (x" + counts[slot] + ")" : messages[slot];
+            expiresAt[slot] = now + toast.getMillis();
+        }
+    }
+
+    /**
+     * Checks whether any toast is on screen.
+     *
+     * @return true if at least one toast is shown
+     */
+    private boolean hasVisible() {
+        for (int i = 0; i < MAX_VISIBLE; i++) {
+            if (messages[i] != null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lets every mouse event pass through to the components underneath.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @return always false
+     */
+    @Override
+    public boolean contains(int x, int y) {
+        return false;
+    }
+
+    /**
+     * Draws the visible toasts stacked above the bottom of the window,
+     * fading each one out during its last moments.
+     *
+     * @param g the graphics context
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setFont(getFont());
+            FontMetrics metrics = g2.getFontMetrics();
+            long now = System.currentTimeMillis();
+            int y = getHeight() - 120;
+            for (int i = 0; i < MAX_VISIBLE; i++) {
+                if (messages[i] == null) continue;
+                float alpha = Math.max(0f, Math.min(1f, (expiresAt[i] - now) / (float) FADE_MILLIS));
+                int width = metrics.stringWidth(labels[i]) + 2 * PADDING;
+                int height = metrics.getHeight() + PADDING;
+                int x = (getWidth() - width) / 2;
+                y -= height + 8;
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.85f * alpha));
+                g2.setColor(Color.DARK_GRAY);
+                g2.fillRoundRect(x, y, width, height, 16, 16);
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g2.setColor(Color.WHITE);
+                g2.drawString(labels[i], x + PADDING, y + PADDING / 2 + metrics.getAscent());
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * ToastQueue holds the short messages waiting to be shown on the Mancala board.
+ * Any thread can add messages without ever waiting for the user interface.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ToastQueue class is a bounded, lock-free queue of {@link Toast}s.
+ * A message that is already waiting is not queued again; its repeat count
+ * is raised instead, so a loop that reports the same problem thousands of
+ * times produces one toast. When the queue is full new messages are
+ * dropped and counted rather than making the caller wait.
+ */
+public class ToastQueue {
+
+    private final int capacity;
+    private final ConcurrentLinkedQueue<Toast> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, Toast> waiting = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructs a queue that holds at most the given number of distinct messages.
+     *
+     * @param capacity the maximum number of waiting messages
+     * @throws IllegalArgumentException if capacity is less than one
+     */
+    public ToastQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a message, or raises the repeat count of the same message if it
+     * is already waiting. Never blocks.
+     *
+     * @param message the text to show
+     * @param millis  how long the toast stays on screen once shown
+     * @return false if the queue was full and the message was dropped
+     */
+    public boolean offer(String message, int millis) {
+        Toast existing = waiting.get(message);
+        if (existing != null) {
+            existing.repeat(millis);
+            return true;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        Toast toast = new Toast(message, millis);
+        existing = waiting.putIfAbsent(message, toast);
+        if (existing != null) {
+            size.decrementAndGet();
+            existing.repeat(millis);
+            return true;
+        }
+        queue.offer(toast);
+        return true;
+    }
+
+    /**
+     * Removes the oldest waiting toast.
+     *
+     * @return the toast, or null if none is waiting
+     */
+    public Toast poll() {
+        Toast toast = queue.poll();
+        if (toast != null) {
+            waiting.remove(toast.getMessage(), toast);
+            size.decrementAndGet();
+        }
+        return toast;
+    }
+
+    /**
+     * Returns the number of toasts waiting to be shown.
+     *
+     * @return the queue size
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns how many messages were dropped because the queue was full.
+     *
+     * @return the drop count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * One message with the number of times it was reported and how long
+     * it should stay on screen.
+     */
+    public static final class Toast {
+        private final String message;
+        private final AtomicInteger count = new AtomicInteger(1);
+        private volatile int millis;
+        private volatile long reportedAt = System.currentTimeMillis();
+
+        /**
+         * Constructs a toast reported once.
+         *
+         * @param message the text to show
+         * @param millis  how long it stays on screen
+         */
+        Toast(String message, int millis) {
+            this.message = message;
+            this.millis = millis;
+        }
+
+        /**
+         * Records another report of the same message.
+         *
+         * @param millis how long the repeated message should stay on screen
+         */
+        void repeat(int millis) {
+            count.incrementAndGet();
+            this.millis = Math.max(this.millis, millis);
+            this.reportedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns the text of the toast.
+         *
+         * @return the message
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Returns how many times the message was reported.
+         *
+         * @return the repeat count, at least 1
+         */
+        public int getCount() {
+            return count.get();
+        }
+
+        /**
+         * Returns when the message was last reported.
+         *
+         * @return the time in milliseconds since the epoch
+         */
+        public long getReportedAt() {
+            return reportedAt;
+        }
+
+        /**
+         * Returns how long the toast stays on screen.
+         *
+         * @return the display time in milliseconds
+         */
+        public int getMillis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * Tournament plays large numbers of headless Mancala games between pluggable
+ * strategies and reports how strong each one is.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * The Tournament class runs a round robin between registered strategies.
+ * Every pair plays the same number of games, alternating which one moves
+ * first, and the first few plies of each game are random so deterministic
+ * players do not repeat one game over and over. Games are played through
+ * {@link MancalaModel#initialize()}, {@link MancalaModel#makeMove(int)},
+ * {@link MancalaModel#switchTurn()}, and {@link MancalaModel#getWinner()},
+ * so the rules are exactly those of the GUI.
+ * <p>
+ * The games of each pair are split into chunks that run as tasks on a
+ * work-stealing pool. Each task builds its own model and its own strategy
+ * instances from the registered factories and counts its results locally,
+ * so the workers share nothing while they play.
+ */
+public class Tournament {
+
+    private static final double Z_95 = 1.96;
+
+    private final ForkJoinPool pool;
+    private final ArrayList<String> names = new ArrayList<>();
+    private final ArrayList<Supplier<MancalaStrategy>> factories = new ArrayList<>();
+    private int stonesPerPit = 4;
+    private int randomOpeningPlies = 2;
+    private int gamesPerTask = 256;
+    private long[][] wins;
+    private long[][] draws;
+    private long games;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a tournament that plays on the given number of threads.
+     *
+     * @param threads the number of games played at the same time
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    public Tournament(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Registers a player. The factory is called once per task, so every
+     * thread gets its own strategy instance.
+     *
+     * @param name    the name shown in the results
+     * @param factory creates a new instance of the player's strategy
+     */
+    public void addPlayer(String name, Supplier<MancalaStrategy> factory) {
+        names.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * Sets the number of stones placed in each pit at the start of a game.
+     *
+     * @param stones the number of stones per pit
+     * @throws IllegalArgumentException if stones is not between 1 and
+     *         {@link MancalaModel#MAX_STONES_PER_PIT}
+     */
+    public void setStonesPerPit(int stones) {
+        if (stones < 1 || stones > MancalaModel.MAX_STONES_PER_PIT) {
+            throw new IllegalArgumentException("stones must be between 1 and " + MancalaModel.MAX_STONES_PER_PIT);
+        }
+        this.stonesPerPit = stones;
+    }
+
+    /**
+     * Sets how many plies at the start of each game are played at random.
+     *
+     * @param plies the number of random opening plies
+     * @throws IllegalArgumentException if plies is negative
+     */
+    public void setRandomOpeningPlies(int plies) {
+        if (plies < 0) throw new IllegalArgumentException("plies must be >= 0");
+        this.randomOpeningPlies = plies;
+    }
+
+    /**
+     * Plays a round robin in which every pair of players meets the given
+     * number of times. Results of earlier runs are discarded.
+     *
+     * @param gamesPerPair the number of games each pair plays
+     * @throws IllegalStateException if fewer than two players are registered
+     *         or a strategy returns an illegal move
+     */
+    public void run(int gamesPerPair) {
+        int players = names.size();
+        if (players < 2) throw new IllegalStateException("a tournament needs at least two players");
+        wins = new long[players][players];
+        draws = new long[players][players];
+        games = 0;
+        long start = System.nanoTime();
+
+        ArrayList<Future<int[]>> results = new ArrayList<>();
+        ArrayList<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            for (int j = i + 1; j < players; j++) {
+                for (int first = 0; first < gamesPerPair; first += gamesPerTask) {
+                    int p = i;
+                    int q = j;
+                    int count = Math.min(gamesPerTask, gamesPerPair - first);
+                    int offset = first;
+                    results.add(pool.submit(() -> playChunk(p, q, offset, count)));
+                    pairs.add(new int[] {i, j});
+                }
+            }
+        }
+
+        for (int k = 0; k < results.size(); k++) {
+            int[] counts;
+            try {
+                counts = results.get(k).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("tournament interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("tournament failed", e.getCause());
+            }
+            int i = pairs.get(k)[0];
+            int j = pairs.get(k)[1];
+            wins[i][j] += counts[0];
+            wins[j][i] += counts[1];
+            draws[i][j] += counts[2];
+            draws[j][i] += counts[2];
+            games += counts[0] + counts[1] + counts[2];
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Plays a chunk of games between two players on the calling thread.
+     *
+     * @param p      the index of the first player
+     * @param q      the index of the second player
+     * @param offset the number of games of this pair before the chunk, so
+     *               the sides alternate across chunks
+     * @param count  the number of games to play
+     * @return the wins of p, the wins of q, and the draws
+     */
+    private int[] playChunk(int p, int q, int offset, int count) {
+        MancalaStrategy first = factories.get(p).get();
+        MancalaStrategy second = factories.get(q).get();
+        MancalaModel model = new MancalaModel();
+        model.setStonesPerPit(stonesPerPit);
+        int[] counts = new int[3];
+        for (int g = offset; g < offset + count; g++) {
+            boolean pIsA = (g & 1) == 0;
+            int result = playGame(model, pIsA ? first : second, pIsA ? second : first);
+            if (result == 0) counts[2]++;
+            else if ((result > 0) == pIsA) counts[0]++;
+            else counts[1]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Plays one game to the end.
+     *
+     * @param model     the model to play on; it is reinitialized
+     * @param strategyA the strategy for player A
+     * @param strategyB the strategy for player B
+     * @return 1 if player A wins, -1 if player B wins, 0 for a tie
+     * @throws IllegalStateException if a strategy returns an illegal move
+     */
+    private int playGame(MancalaModel model, MancalaStrategy strategyA, MancalaStrategy strategyB) {
+        model.initialize();
+        Player playerA = model.getPlayerA();
+        int ply = 0;
+        while (!model.isGameOver()) {
+            boolean aTurn = model.getCurrentPlayer() == playerA;
+            BoardState board = model.getBoardState();
+            int move = ply++ < randomOpeningPlies
+                ? MancalaStrategy.randomMove(board, aTurn)
+                : (aTurn ? strategyA : strategyB).chooseMove(board, aTurn);
+            if (!board.isLegalMove(aTurn, move)) {
+                throw new IllegalStateException("strategy chose illegal pit " + move);
+            }
+            if (!model.makeMove(move) && !model.isGameOver()) {
+                model.switchTurn();
+                model.getCurrentPlayer().didPlayerMove(false);
+            }
+        }
+        Player winner = model.getWinner();
+        return winner == null ? 0 : winner == playerA ? 1 : -1;
+    }
+
+    /**
+     * Returns the number of games played by the most recent run.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the game speed of the most recent run.
+     *
+     * @return the number of games finished per second
+     */
+    public long getGamesPerSecond() {
+        if (elapsedNanos == 0) return 0;
+        return games * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games one player won against another.
+     *
+     * @param player   the index of the winning player
+     * @param opponent the index of the losing player
+     * @return the win count
+     */
+    public long getWins(int player, int opponent) {
+        return wins[player][opponent];
+    }
+
+    /**
+     * Returns the number of games two players drew.
+     *
+     * @param player   the index of one player
+     * @param opponent the index of the other player
+     * @return the draw count
+     */
+    public long getDraws(int player, int opponent) {
+        return draws[player][opponent];
+    }
+
+    /**
+     * Estimates a player's Elo rating relative to the average of its opponents,
+     * with a 95% confidence interval from the spread of its game results.
+     *
+     * @param player the index of the player
+     * @return the estimate, the lower bound, and the upper bound, in Elo points
+     */
+    public double[] getElo(int player) {
+        long w = 0;
+        long d = 0;
+        long l = 0;
+        for (int o = 0; o < names.size(); o++) {
+            w += wins[player][o];
+            d += draws[player][o];
+            l += wins[o][player];
+        }
+        return elo(w, d, l);
+    }
+
+    /**
+     * Estimates the Elo difference between two players from their games
+     * against each other, with a 95% confidence interval.
+     *
+     * @param player   the index of the player
+     * @param opponent the index of the opponent
+     * @return the estimate, the lower bound, and the upper bound, in Elo points
+     */
+    public double[] getElo(int player, int opponent) {
+        return elo(wins[player][opponent], draws[player][opponent], wins[opponent][player]);
+    }
+
+    /**
+     * Converts win, draw, and loss counts into an Elo difference. The score
+     * is clamped away from 0 and 1 so a clean sweep gives a large finite value.
+     *
+     * @param w the number of wins
+     * @param d the number of draws
+     * @param l the number of losses
+     * @return the estimate, the lower bound, and the upper bound, in Elo points
+     */
+    private static double[] elo(long w, long d, long l) {
+        double n = w + d + l;
+        if (n == 0) return new double[] {0, 0, 0};
+        double score = (w + d * 0.5) / n;
+        double variance = (w * (1 - score) * (1 - score)
+            + d * (0.5 - score) * (0.5 - score)
+            + l * score * score) / n;
+        double margin = Z_95 * Math.sqrt(variance / n);
+        return new double[] {eloOf(score), eloOf(score - margin), eloOf(score + margin)};
+    }
+
+    /**
+     * Converts an expected score into an Elo difference.
+     *
+     * @param score the expected score between 0 and 1
+     * @return the Elo difference
+     */
+    private static double eloOf(double score) {
+        double s = Math.max(0.001, Math.min(0.999, score));
+        return -400 * Math.log10(1 / s - 1);
+    }
+
+    /**
+     * Returns a table of the most recent run. Each cell shows the row
+     * player's wins, draws, and losses against the column player, followed
+     * by its Elo against the field and the game speed.
+     *
+     * @return the formatted results
+     */
+    public String getResultsTable() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-14s", ""));
+        for (String name : names) {
+            out.append(String.format("%20s", name));
+        }
+        out.append(String.format("%25s%n", "Elo (95% CI)"));
+        for (int i = 0; i < names.size(); i++) {
+            out.append(String.format("%-14s", names.get(i)));
+            for (int j = 0; j < names.size(); j++) {
+                out.append(i == j ? String.format("%20s", "-")
+                    : String.format("%20s", wins[i][j] + "-" + draws[i][j] + "-" + wins[j][i]));
+            }
+            double[] elo = getElo(i);
+            out.append(String.format("%+8.0f [%+6.0f, %+6.0f]%n", elo[0], elo[1], elo[2]));
+        }
+        out.append(String.format("%,d games in %.2f s, %,d games/s on %d threads%n",
+            games, elapsedNanos / 1e9, getGamesPerSecond(), pool.getParallelism()));
+        return out.toString();
+    }
+
+    /**
+     * Shuts down the threads used by this tournament.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
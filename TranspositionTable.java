@@ -0,0 +1,290 @@
+/**
+ * TranspositionTable caches search results for Mancala positions.
+ * Positions reached by different move orders share an entry, so the
+ * search does not redo work it has already done.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TranspositionTable class is a fixed-size hash table stored in two
+ * preallocated long arrays: one for Zobrist keys and one for packed entries.
+ * Each entry records the search depth, the bound type, the score, and the
+ * best move. Entries are grouped in buckets of two slots: the first keeps
+ * the deepest result, the second always takes the newest one. Results from
+ * older searches are replaced first.
+ * <p>
+ * The table may be shared by several searching threads without locks. Each
+ * slot stores its key XOR-ed with its entry, so a slot whose two halves were
+ * written by different threads fails the key check and reads as a miss.
+ */
+public class TranspositionTable {
+
+    /** The stored score is an upper bound on the true score. */
+    public static final int UPPER = 1;
+    /** The stored score is a lower bound on the true score. */
+    public static final int LOWER = 2;
+    /** The stored score is the exact score. */
+    public static final int EXACT = 3;
+
+    /** The number of bytes each entry occupies. */
+    public static final int BYTES_PER_ENTRY = 16;
+
+    private static final int NO_MOVE = 15;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+    private int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder overwrites = new LongAdder();
+
+    /**
+     * Constructs a table that uses at most the given amount of memory.
+     * The number of entries is rounded down to a power of two.
+     *
+     * @param megabytes the memory budget in megabytes
+     * @throws IllegalArgumentException if the budget is less than one megabyte
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) throw new IllegalArgumentException("megabytes must be >= 1");
+        long budget = (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY;
+        int size = Integer.highestOneBit((int) Math.min(budget, 1 << 30));
+        keys = new long[size];
+        entries = new long[size];
+        bucketMask = (size - 1) & ~1;
+    }
+
+    /**
+     * Starts a new search. Entries written by earlier searches become the
+     * first candidates for replacement.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table and resets its statistics.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, 0);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        overwrites.reset();
+    }
+
+    /**
+     * Looks up the entry for a position.
+     *
+     * @param key the position's Zobrist key
+     * @return the packed entry, or 0 if the position is not stored
+     */
+    public long probe(long key) {
+        probes.increment();
+        int i = (int) key & bucketMask;
+        long entry = entries[i];
+        if (entry != 0 && (keys[i] ^ entry) == key) {
+            hits.increment();
+            return entry;
+        }
+        entry = entries[i + 1];
+        if (entry != 0 && (keys[i + 1] ^ entry) == key) {
+            hits.increment();
+            return entry;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of searching a position.
+     *
+     * @param key      the position's Zobrist key
+     * @param depth    the depth the position was searched to, 0-255
+     * @param bound    {@link #UPPER}, {@link #LOWER}, or {@link #EXACT}
+     * @param score    the score of the position, -32768 to 32767
+     * @param move     the best move found, or -1 if none
+     * @param complete true if every line of the search reached the end of the game
+     */
+    public void store(long key, int depth, int bound, int score, int move, boolean complete) {
+        stores.increment();
+        long entry = (score & 0xFFFFL)
+            | (long) (depth & 0xFF) << 16
+            | (long) bound << 24
+            | (long) (move < 0 ? NO_MOVE : move) << 26
+            | (complete ? 1L << 30 : 0)
+            | (long) generation << 32;
+
+        int i = (int) key & bucketMask;
+        long old = entries[i];
+        if (old != 0 && (keys[i] ^ old) != key
+                && generationOf(old) == generation && depth < depth(old)) {
+            i++; // keep the deeper result and use the always-replace slot
+            old = entries[i];
+        }
+        if (old != 0 && (keys[i] ^ old) != key) {
+            overwrites.increment();
+        }
+        keys[i] = key ^ entry;
+        entries[i] = entry;
+    }
+
+    /**
+     * Returns the score stored in a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the stored score
+     */
+    public static int score(long entry) {
+        return (short) entry;
+    }
+
+    /**
+     * Returns the depth stored in a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the stored depth in plies
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 16) & 0xFF;
+    }
+
+    /**
+     * Returns the bound type stored in a packed entry.
+     *
+     * @param entry the packed entry
+     * @return {@link #UPPER}, {@link #LOWER}, or {@link #EXACT}
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 24) & 0x3;
+    }
+
+    /**
+     * Returns the best move stored in a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the pit index of the best move, or -1 if none was stored
+     */
+    public static int move(long entry) {
+        int move = (int) (entry >>> 26) & 0xF;
+        return move == NO_MOVE ? -1 : move;
+    }
+
+    /**
+     * Returns whether the stored search reached the end of the game on every line,
+     * which makes the score valid at any depth.
+     *
+     * @param entry the packed entry
+     * @return true if the stored score does not depend on a depth limit
+     */
+    public static boolean isComplete(long entry) {
+        return (entry & (1L << 30)) != 0;
+    }
+
+    /**
+     * Returns the search generation that wrote a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the generation, 0-255
+     */
+    private static int generationOf(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the table capacity
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the memory used by the table's arrays.
+     *
+     * @return the size of the table in bytes
+     */
+    public long getSizeBytes() {
+        return (long) keys.length * BYTES_PER_ENTRY;
+    }
+
+    /**
+     * Returns the number of lookups since the table was created or cleared.
+     *
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found their position.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of results written to the table.
+     *
+     * @return the store count
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Returns the number of stores that replaced a different position.
+     * A high value relative to stores means the table is too small.
+     *
+     * @return the overwrite count
+     */
+    public long getOverwrites() {
+        return overwrites.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups that found their position.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long probed = probes.sum();
+        return probed == 0 ? 0 : (double) hits.sum() / probed;
+    }
+
+    /**
+     * Estimates how full the table is by sampling its first entries.
+     *
+     * @return the fraction of sampled slots in use, between 0 and 1
+     */
+    public double getFillRate() {
+        int sample = Math.min(entries.length, 4096);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (entries[i] != 0) used++;
+        }
+        return (double) used / sample;
+    }
+
+    /**
+     * Returns a one-line summary of the table's size and statistics.
+     *
+     * @return the capacity, memory, hit rate, and fill rate
+     */
+    public String getStatsSummary() {
+        return String.format("%,d entries (%,d KB), %,d probes, hit rate %.1f%%, %,d overwrites, fill %.1f%%",
+            keys.length, getSizeBytes() / 1024, getProbes(), getHitRate() * 100, getOverwrites(), getFillRate() * 100);
+    }
+}
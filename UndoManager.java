@@ -1,25 +1,27 @@
 /**
- * UndoManager tracks and restores previous game states for the Mancala game.
- * It keeps a history of board configurations, scores, and turns, and enforces
- * a limit on how many times the current player can undo moves.
+ * UndoManager tracks and reverses previous moves for the Mancala game.
+ * It keeps a history of compact move records and enforces a limit on
+ * how many times the current player can undo moves.
  *
  * @author
  * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
  * @version 1.0 12/4/25
  */
-import java.util.ArrayList;
-import java.util.Stack;
-
 /**
- * The UndoManager class manages the undo stack for Mancala.
- * It stores copies of pit states, player scores, and whose turn it is,
- * and provides methods to save a state, undo it, and reset the undo history.
+ * The UndoManager class manages the undo history for Mancala.
+ * Instead of copying the board, each move is recorded as a single packed
+ * int holding the start pit, the number of stones sown, where the last
+ * stone landed, how many stones were captured, and whose turn it was.
+ * Records live in a fixed ring buffer, so recording a move allocates
+ * nothing. Undo rebuilds the previous board by reversing the record.
  */
 public class UndoManager {
-    private Stack<ArrayList<Pit>> undoStack = new Stack<>();
-    private Stack<Integer> mancalaAStack = new Stack<>();
-    private Stack<Integer> mancalaBStack = new Stack<>();
-    private Stack<Boolean> turnStack = new Stack<>();
+
+    private static final int CAPACITY = 8;
+
+    private final int[] history = new int[CAPACITY];
+    private int head;
+    private int size;
     private Player currentPlayer;
     private boolean justUndid = false;
 
@@ -34,60 +36,82 @@ public class UndoManager {
     }
 
     /**
-     * Saves a snapshot of the current game state, including a copy of the pit list,
-     * both players' scores, and whose turn it is. A state is only saved if the
-     * current player has used fewer than three undos and did not just undo.
+     * Records a move that has just been applied so it can be reversed later.
+     * A move is only recorded if the current player has used fewer than three
+     * undos. When the buffer is full the oldest record is dropped.
      *
-     * @param currentState the current list of pits representing the board
-     * @param scoreA player A's score at this point
-     * @param scoreB player B's score at this point
-     * @param isATurn true if it is player A's turn, false if it is player B's
+     * @param startIdx the index of the pit the move started from
+     * @param sown     the number of stones that were in the start pit
+     * @param lastIdx  the index of the pit where the last stone landed
+     * @param captured the stones moved to the mancala by a capture, including
+     *                 the capturing stone, or 0 if there was no capture
+     * @param isATurn  true if it was player A's turn, false if it was player B's
      */
-    public void saveState(ArrayList<Pit> currentState, int scoreA, int scoreB, boolean isATurn) {
+    public void recordMove(int startIdx, int sown, int lastIdx, int captured, boolean isATurn) {
         if (currentPlayer.getNumberOfUndos() < 3) {
-            ArrayList<Pit> copy = new ArrayList<>();
-            for (Pit pit : currentState) {
-                copy.add(new Pit(pit.getName(), pit.getStones()));
-            }
-            undoStack.push(copy);
-            mancalaAStack.push(scoreA);
-            mancalaBStack.push(scoreB);
-            turnStack.push(isATurn);
+            int opposite = captured > 0 ? captured - 1 : 0;
+            history[head] = startIdx
+                | sown << 4
+                | lastIdx << 11
+                | opposite << 15
+                | (isATurn ? 1 << 22 : 0);
+            head = (head + 1) % CAPACITY;
+            if (size < CAPACITY) size++;
         }
     }
 
     /**
-     * Performs an undo operation if allowed. The most recent saved state is popped
-     * from the stacks, the scores and turn are restored, and the previous pit list
-     * is returned. The current player's undo count is incremented.
+     * Performs an undo operation if allowed. The most recent move is reversed
+     * on the board and the turn is restored. The current player's undo count
+     * is incremented. Scores should be synced from the mancalas afterwards.
      *
+     * @param board   the board to restore
      * @param playerA the player object representing player A
      * @param playerB the player object representing player B
-     * @return a restored pit list if undo succeeds, or null if undo is not possible
+     * @return true if the undo succeeded, false if undo is not possible
      */
-    public ArrayList<Pit> undo(Player playerA, Player playerB) {
-        if (canUndo()) {
-            currentPlayer.setNumberOfUndos(currentPlayer.getNumberOfUndos() + 1);
-            justUndid = true;
-
-            ArrayList<Pit> pits = undoStack.pop();
-            int scoreA = mancalaAStack.pop();
-            int scoreB = mancalaBStack.pop();
-            boolean isATurn = turnStack.pop();
+    public boolean undo(BoardState board, Player playerA, Player playerB) {
+        if (!canUndo()) {
+            return false;
+        }
+        currentPlayer.setNumberOfUndos(currentPlayer.getNumberOfUndos() + 1);
+        justUndid = true;
 
-            playerA.setScore(scoreA);
-            playerB.setScore(scoreB);
+        head = (head + CAPACITY - 1) % CAPACITY;
+        size--;
+        int record = history[head];
+        int startIdx = record & 0xF;
+        int sown = (record >>> 4) & 0x7F;
+        int lastIdx = (record >>> 11) & 0xF;
+        int opposite = (record >>> 15) & 0x7F;
+        boolean isATurn = (record & (1 << 22)) != 0;
 
-            playerA.setTurn(isATurn);
-            playerB.setTurn(!isATurn);
+        if (opposite > 0) {
+            int mancala = BoardState.mancalaIndex(isATurn);
+            board.setStones(mancala, board.getStones(mancala) - opposite - 1);
+            board.setStones(lastIdx, 1);
+            board.setStones(BoardState.oppositeIndex(lastIdx), opposite);
+        }
 
-            return pits;
+        int skip = BoardState.mancalaIndex(!isATurn);
+        int idx = startIdx;
+        for (int stones = sown; stones > 0; ) {
+            idx = (idx == BoardState.PIT_COUNT - 1) ? 0 : idx + 1;
+            if (idx == skip) {
+                continue;
+            }
+            board.setStones(idx, board.getStones(idx) - 1);
+            stones--;
         }
-        return null;
+        board.setStones(startIdx, board.getStones(startIdx) + sown);
+
+        playerA.setTurn(isATurn);
+        playerB.setTurn(!isATurn);
+        return true;
     }
 
     /**
-     * Resets the undo history for the next player. This clears all stored states,
+     * Resets the undo history for the next player. This clears all stored moves,
      * updates the current player reference, resets the "justUndid" flag, and sets
      * the next player's undo count back to zero.
      *
@@ -96,24 +120,17 @@ public class UndoManager {
     public void resetUndo(Player nextPlayer) {
         this.currentPlayer = nextPlayer;
         this.justUndid = false;
-        this.undoStack.clear();
-        this.mancalaAStack.clear();
-        this.mancalaBStack.clear();
-        this.turnStack.clear();
+        this.size = 0;
         nextPlayer.setNumberOfUndos(0);
     }
     /**
-     * Resets the undo history for the current player's free turn. This clears all stored states,
-     * updates the current player reference, resets the "justUndid" flag, and sets
-     * the currents player's undo count back to zero.
-     * the player who has a free turn to use undo
+     * Resets the undo history for the current player's free turn. This clears all stored moves,
+     * resets the "justUndid" flag, and sets the current player's undo count back to zero,
+     * allowing the player who has a free turn to use undo.
      */
     public void resetUndoForFreeTurn() {
         this.justUndid = false;
-        this.undoStack.clear();
-        this.mancalaAStack.clear();
-        this.mancalaBStack.clear();
-        this.turnStack.clear();
+        this.size = 0;
         currentPlayer.setNumberOfUndos(0);
     }
     /**
@@ -122,7 +139,7 @@ public class UndoManager {
      * indicating that the most recent action was not an undo. It allows
      * subsequent undo operations to be performed again, provided the
      * player has not exceeded the maximum number of undos and the
-     * undo stack is not empty.
+     * undo history is not empty.
      */
     public void clearUndoFlag() {
         this.justUndid = false;
@@ -130,11 +147,59 @@ public class UndoManager {
     /**
      * Checks whether an undo operation is currently allowed. Undo is permitted
      * only if the current player has used fewer than three undos, did not just
-     * undo immediately before, and there is at least one saved state on the stack.
+     * undo immediately before, and there is at least one recorded move.
      *
      * @return true if an undo can be performed, false otherwise
      */
     public boolean canUndo() {
-        return !justUndid && currentPlayer.getNumberOfUndos() < 3 && !undoStack.isEmpty();
+        return !justUndid && currentPlayer.getNumberOfUndos() < 3 && size > 0;
+    }
+    /**
+     * Returns the recorded moves, oldest first, for saving the undo state.
+     *
+     * @return a copy of the packed move records
+     */
+    public int[] getHistory() {
+        int[] moves = new int[size];
+        for (int i = 0; i < size; i++) {
+            moves[i] = history[(head + CAPACITY - size + i) % CAPACITY];
+        }
+        return moves;
+    }
+    /**
+     * Returns the player whose undos are being counted.
+     *
+     * @return the current player of the undo manager
+     */
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+    /**
+     * Returns whether the most recent action was an undo.
+     *
+     * @return true if another undo must wait for a move
+     */
+    public boolean getJustUndid() {
+        return justUndid;
+    }
+    /**
+     * Replaces the undo state with one saved earlier through
+     * {@link #getHistory()}, {@link #getCurrentPlayer()}, and
+     * {@link #getJustUndid()}. The players' undo counts are restored
+     * separately.
+     *
+     * @param current   the player whose undos are counted
+     * @param moves     the packed move records, oldest first
+     * @param justUndid whether the most recent action was an undo
+     */
+    public void restore(Player current, int[] moves, boolean justUndid) {
+        this.currentPlayer = current;
+        this.justUndid = justUndid;
+        this.size = Math.min(moves.length, CAPACITY);
+        this.head = 0;
+        for (int i = moves.length - size; i < moves.length; i++) {
+            history[head] = moves[i];
+            head = (head + 1) % CAPACITY;
+        }
     }
 }
@@ -0,0 +1,64 @@
+/**
+ * Zobrist holds the random keys used to hash Mancala positions.
+ * A position's hash is the XOR of one key per pit for that pit's stone
+ * count, plus one key when player B is the side to move.
+ *
+ * @author
+ * Team: Tazmeen Ahmed, Glengle Pham, Haitham Assaf, Samuel Dinkayehu
+ * @version 1.0 12/4/25
+ */
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class provides the fixed key tables for hashing boards.
+ * Keys are generated from a fixed seed so hashes are stable between runs.
+ * BoardState updates its hash incrementally by XOR-ing out the key for a
+ * pit's old count and XOR-ing in the key for its new count.
+ */
+public final class Zobrist {
+
+    /**
+     * The largest stone count a single pit can hold, plus one. A game of
+     * {@link MancalaModel#MAX_STONES_PER_PIT} stones per pit stays below it.
+     */
+    public static final int STONE_LIMIT = 128;
+
+    /** The key XOR-ed into a position's hash when player B is to move. */
+    public static final long SIDE_B;
+
+    private static final long[] PIT_KEYS = new long[BoardState.PIT_COUNT * STONE_LIMIT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4D616E63616C61L);
+        for (int i = 0; i < PIT_KEYS.length; i++) {
+            // an empty pit contributes nothing, so a new board hashes to zero
+            PIT_KEYS[i] = (i % STONE_LIMIT == 0) ? 0 : random.nextLong();
+        }
+        SIDE_B = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key for a pit holding the given number of stones.
+     *
+     * @param idx    the pit index
+     * @param stones the number of stones in the pit
+     * @return the Zobrist key for that pit and count
+     */
+    public static long pitKey(int idx, int stones) {
+        return PIT_KEYS[idx * STONE_LIMIT + stones];
+    }
+
+    /**
+     * Returns the key for a position with the given board hash and side to move.
+     *
+     * @param boardHash the hash of the pit counts
+     * @param playerA   true if player A is to move
+     * @return the hash of the position including the side to move
+     */
+    public static long positionKey(long boardHash, boolean playerA) {
+        return playerA ? boardHash : boardHash ^ SIDE_B;
+    }
+}
@@ -0,0 +1,32 @@
+#!/bin/sh
+# Builds build/mancala.jar and a class-data-sharing archive for it, then
+# prints the startup milestones of the game with and without the archive.
+#
+# With a display the training run starts the real game and exits once it
+# can take input; without one it runs StartupWarmup, which covers the
+# model, both board designs, fonts and Java2D but not the Swing window.
+#
+# Start the game with the archive from this directory:
+#   java -XX:SharedArchiveFile=build/mancala.jsa -cp build/mancala.jar MancalaTest
+set -e
+cd "$(dirname "$0")"
+
+rm -rf build
+mkdir -p build/classes
+javac -d build/classes *.java
+jar cfe build/mancala.jar MancalaTest -C build/classes .
+
+if [ -n "$DISPLAY" ]; then
+    MAIN="-Dmancala.exitWhenInteractive=true MancalaTest"
+else
+    MAIN="-Djava.awt.headless=true StartupWarmup"
+fi
+
+java -XX:ArchiveClassesAtExit=build/mancala.jsa -cp build/mancala.jar $MAIN > /dev/null
+
+for SHARE in "-Xshare:auto" "-XX:SharedArchiveFile=build/mancala.jsa"; do
+    echo "== $SHARE"
+    for RUN in 1 2 3; do
+        java $SHARE -Dmancala.launchMillis="$(date +%s%3N)" -cp build/mancala.jar $MAIN
+    done
+done